@@ -0,0 +1,35 @@
+package tictactoe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class AIPlayerBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private AIPlayer player;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard(Board.DEFAULT_SIZE, Board.DEFAULT_SIZE);
+        player = new AIPlayer(position.sideToMove(), difficulty);
+    }
+
+    @Benchmark
+    public Move getMove() {
+        return player.getMove(board);
+    }
+
+    @Benchmark
+    public int getMoveCell() {
+        return player.getMoveCell(board);
+    }
+}
\ No newline at end of file
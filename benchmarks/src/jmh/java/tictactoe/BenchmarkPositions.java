@@ -0,0 +1,30 @@
+package tictactoe;
+
+// Positions shared by the benchmarks, given as cells played alternately starting with X
+public enum BenchmarkPositions {
+    EMPTY(),
+    MID_GAME(4, 0, 2),
+    NEAR_TERMINAL(4, 0, 2, 6, 3, 5);
+
+    private final int[] cells;
+
+    BenchmarkPositions(int... cells) {
+        this.cells = cells;
+    }
+
+    Board createBoard(int size, int winLength) {
+        // Larger boards get the same 3x3 pattern in their centre
+        Board board = new Board(size, winLength);
+        int offset = (size - 3) / 2;
+        char symbol = Symbol.X.getValue();
+        for (int cell : cells) {
+            board.makeMove(cell / 3 + offset, cell % 3 + offset, symbol);
+            symbol = MinimaxSearch.opponentOf(symbol);
+        }
+        return board;
+    }
+
+    Symbol sideToMove() {
+        return cells.length % 2 == 0 ? Symbol.X : Symbol.O;
+    }
+}
\ No newline at end of file
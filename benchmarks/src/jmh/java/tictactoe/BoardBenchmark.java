@@ -0,0 +1,47 @@
+package tictactoe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"3:3", "15:5"})
+    public String variant;
+
+    @Param({"MID_GAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private int row;
+    private int col;
+
+    @Setup
+    public void setUp() {
+        String[] parts = variant.split(":");
+        int size = Integer.parseInt(parts[0]);
+        board = position.createBoard(size, Integer.parseInt(parts[1]));
+        row = size - 1;
+        col = size - 1;
+    }
+
+    @Benchmark
+    public boolean hasWinner() {
+        return board.hasWinner();
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return board.isFull();
+    }
+
+    @Benchmark
+    public boolean makeAndUndoMove() {
+        board.makeMove(row, col, position.sideToMove().getValue());
+        boolean winner = board.hasWinner();
+        board.undoMove(row, col);
+        return winner;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package tictactoe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// One complete AI-vs-AI game per invocation
+@State(Scope.Thread)
+public class GameBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        game = new Game(new AIPlayer(Symbol.X, difficulty), new AIPlayer(Symbol.O, difficulty));
+    }
+
+    @Benchmark
+    public GameState playThrough() {
+        game.reset();
+        while (game.getState() == GameState.IN_PROGRESS) {
+            Move move = game.getCurrentPlayer().getMove(game.getBoard());
+            game.makeMove(move.row(), move.col());
+        }
+        return game.getState();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package tictactoe;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class RandomPlayerBenchmark {
+    @Param({"EMPTY", "MID_GAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private RandomPlayer player;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard(Board.DEFAULT_SIZE, Board.DEFAULT_SIZE);
+        player = new RandomPlayer(position.sideToMove(), new Random(1));
+    }
+
+    @Benchmark
+    public Move getMove() {
+        return player.getMove(board);
+    }
+
+    @Benchmark
+    public int getMoveCell() {
+        return player.getMoveCell(board);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Fixed-depth searches on boards too large for the perfect-play table
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"4:4:8", "5:4:5", "7:5:4"})
+    public String variant;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private SearchLimits limits;
+
+    @Setup
+    public void setUp() {
+        String[] parts = variant.split(":");
+        board = position.createBoard(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        limits = new SearchLimits(TimeUnit.HOURS.toMillis(1), Long.MAX_VALUE, Integer.parseInt(parts[2]));
+    }
+
+    @Benchmark
+    public SearchResult minimax() {
+        return new MinimaxSearch(new Board(board), limits).search(position.sideToMove().getValue());
+    }
+}
\ No newline at end of file
@@ -1,16 +0,0 @@
-public enum Difficulty {
-    EASY("Easy"), 
-    MEDIUM("Medium"), 
-    HARD("Hard");
-
-    private final String displayName;
-
-    Difficulty(String displayName) {
-        this.displayName = displayName;
-    }
-
-    @Override
-    public String toString() {
-        return displayName;
-    }
-}
\ No newline at end of file
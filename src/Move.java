@@ -1 +0,0 @@
-record Move(int row, int col) {}
\ No newline at end of file
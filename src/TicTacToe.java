@@ -1,7 +0,0 @@
-public class TicTacToe {
-    public static void main(String[] args) {
-        // Create and show the game GUI
-        GameGUI game = new GameGUI();
-        game.setVisible(true);
-    }
-}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package tictactoe;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import jdk.jfr.FlightRecorder;
+
+public class AIPlayer extends Player {
+    private final Difficulty difficulty;
+    private final SearchLimits searchLimits;
+    private final ForkJoinPool searchPool;
+    private final Random random;
+    private volatile GameTreeSearch activeSearch;
+    private volatile SearchListener searchListener;
+    private volatile Ponderer ponderer;
+    private volatile OpeningBook openingBook;
+    private volatile RetrogradeSolver solvedPositions;
+
+    public AIPlayer(Symbol symbol, Difficulty difficulty) {
+        this(symbol, difficulty, SearchLimits.DEFAULT);
+    }
+
+    public AIPlayer(Symbol symbol, Difficulty difficulty, SearchLimits searchLimits) {
+        this(symbol, difficulty, searchLimits, null);
+    }
+
+    // A non-null pool searches each move in parallel on that pool
+    public AIPlayer(Symbol symbol, Difficulty difficulty, SearchLimits searchLimits,
+                    ForkJoinPool searchPool) {
+        this(symbol, difficulty, searchLimits, searchPool, new Random());
+    }
+
+    // The random source behind the weaker levels' noise; seeded, it makes them repeatable
+    public AIPlayer(Symbol symbol, Difficulty difficulty, SearchLimits searchLimits,
+                    ForkJoinPool searchPool, Random random) {
+        super(symbol);
+        this.difficulty = difficulty;
+        this.searchLimits = searchLimits;
+        this.searchPool = searchPool;
+        this.random = random;
+    }
+
+    @Override
+    public Move getMove(Board board) {
+        return toMove(board, getMoveCell(board));
+    }
+
+    @Override
+    public int getMoveCell(Board board) {
+        // Loading an event class sets up Flight Recorder, which takes a noticeable fraction of
+        // a second, so wait until something has started a recorder
+        MoveSearchEvent event = FlightRecorder.isInitialized()
+            ? MoveSearchEvent.startIfEnabled()
+            : null;
+        if (event == null && !SearchStats.INSTANCE.isTimingMoves()) {
+            return chooseCell(board, null);
+        }
+        return getInstrumentedCell(board, event);
+    }
+
+    private int getInstrumentedCell(Board board, MoveSearchEvent event) {
+        long start = System.nanoTime();
+        int cell = chooseCell(board, event);
+        SearchStats.INSTANCE.recordMove(difficulty, System.nanoTime() - start);
+        if (event != null && event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.boardSize = board.getSize();
+            event.row = cell >= 0 ? cell / board.getSize() : -1;
+            event.col = cell >= 0 ? cell % board.getSize() : -1;
+            event.commit();
+        }
+        return cell;
+    }
+
+    private int chooseCell(Board board, MoveSearchEvent event) {
+        switch (difficulty) {
+            case EASY:
+            case MEDIUM:
+                return getWeakCell(board, event);
+            case HARD:
+                return findBestCell(board, event);
+            default:
+                return findBestCell(board, event);
+        }
+    }
+
+    // A shallow search on a small budget with noisy root scores, see Difficulty
+    private int getWeakCell(Board board, MoveSearchEvent event) {
+        int[] noise = null;
+        if (difficulty.getNoise() > 0) {
+            noise = new int[board.getSize() * board.getSize()];
+            for (int cell = 0; cell < noise.length; cell++) {
+                noise[cell] = random.nextInt(difficulty.getNoise() + 1);
+            }
+        }
+        return searchBestCell(board, event, difficulty.limit(searchLimits), noise);
+    }
+
+    private int findBestCell(Board board, MoveSearchEvent event) {
+        if (isClassic(board)) {
+            long mine = board.getBits(symbol.getValue());
+            long theirs = board.getBits(getOpponentSymbol());
+            int bestCell = PerfectPlayTable.bestCell(mine, theirs);
+            if (bestCell >= 0) {
+                MoveSearchEvent.describe(event, "table", null, 0);
+                return bestCell;
+            }
+        }
+        RetrogradeSolver solved = solvedPositions;
+        if (solved != null) {
+            SearchResult exact = solved.probe(board, symbol.getValue());
+            if (exact != null && exact.cell() >= 0) {
+                MoveSearchEvent.describe(event, "solved", exact, 0);
+                return exact.cell();
+            }
+        }
+        OpeningBook book = openingBook;
+        if (book != null) {
+            SearchResult stored = book.probe(board, symbol.getValue());
+            if (stored != null) {
+                MoveSearchEvent.describe(event, "book", stored, 0);
+                return stored.cell();
+            }
+        }
+        Ponderer pondering = ponderer;
+        if (pondering != null) {
+            SearchResult pondered = pondering.takeResult(board);
+            if (pondered != null && pondered.cell() >= 0) {
+                MoveSearchEvent.describe(event, "ponder", pondered, 0);
+                return pondered.cell();
+            }
+        }
+        return searchBestCell(board, event, searchLimits, null);
+    }
+
+    private int searchBestCell(Board board, MoveSearchEvent event, SearchLimits limits,
+                               int[] rootNoise) {
+        GameTreeSearch search;
+        if (searchPool != null && rootNoise == null) {
+            search = new ParallelSearch(board, limits, searchPool);
+        } else {
+            MinimaxSearch serial = new MinimaxSearch(new Board(board), limits);
+            serial.setRootNoise(rootNoise);
+            search = serial;
+        }
+        search.setListener(searchListener);
+        activeSearch = search;
+        SearchResult result;
+        long start = System.nanoTime();
+        try {
+            result = search.search(symbol.getValue());
+        } finally {
+            activeSearch = null;
+        }
+        SearchStats.INSTANCE.recordSearch(System.nanoTime() - start, result.nodes(),
+            search.getCutoffs());
+        MoveSearchEvent.describe(event, "search", result, search.getCutoffs());
+        return result.cell();
+    }
+
+    private static Move toMove(Board board, int cell) {
+        return cell < 0 ? null : new Move(cell / board.getSize(), cell % board.getSize());
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    // Positions found in the book are answered without searching
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    // Boards the solver covers are answered exactly, without searching
+    public void setSolvedPositions(RetrogradeSolver solvedPositions) {
+        this.solvedPositions = solvedPositions;
+    }
+
+    // With pondering on, the AI keeps searching during the opponent's turn
+    public void setPondering(boolean enabled) {
+        if (enabled && ponderer == null) {
+            ponderer = new Ponderer(searchLimits, symbol.getValue());
+        } else if (!enabled && ponderer != null) {
+            ponderer.shutdown();
+            ponderer = null;
+        }
+    }
+
+    @Override
+    public void moveMade(Board board, int row, int col, char symbol) {
+        // Weaker levels answer too quickly for pondering to pay off
+        if (ponderer == null || isClassic(board) || difficulty != Difficulty.HARD) {
+            return;
+        }
+        if (symbol != this.symbol.getValue()) {
+            ponderer.opponentMoved(row * board.getSize() + col);
+        } else if (!board.hasWinner() && !board.isFull()) {
+            ponderer.start(board, row * board.getSize() + col);
+        } else {
+            ponderer.stop();
+        }
+    }
+
+    // May be called from any thread; a running getMove returns its best move so far
+    public void cancelSearch() {
+        GameTreeSearch search = activeSearch;
+        if (search != null) {
+            search.cancel();
+        }
+        Ponderer current = ponderer;
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    public void setSearchListener(SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    // The classic board is answered from the perfect-play table
+    static boolean isClassic(Board board) {
+        return board.getSize() == Board.DEFAULT_SIZE && board.getWinLength() == Board.DEFAULT_SIZE;
+    }
+
+    private char getOpponentSymbol() {
+        return (symbol == Symbol.X) ? Symbol.O.getValue() : Symbol.X.getValue();
+    }
+}
\ No newline at end of file
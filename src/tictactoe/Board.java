@@ -0,0 +1,300 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Board {
+    public static final int DEFAULT_SIZE = 3;
+    private static final int MAX_COMPACT_CELLS = Long.SIZE;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    // Zobrist keys per board size, two per cell (X, then O). A fixed seed gives boards of
+    // the same size the same keys, so their hashes can be compared.
+    private static final Map<Integer, long[]> ZOBRIST_KEYS = new ConcurrentHashMap<>();
+    private static final long ZOBRIST_SEED = 0x5EED_7AC7_0E5L;
+    private final int size;
+    private final int winLength;
+    private final char[][] grid;
+    // Win masks are only precomputed when every cell fits into one long
+    private final long[] winMasks;
+    private final long[][] cellWinMasks;
+    private final long[] zobristKeys;
+    private long xBits;
+    private long oBits;
+    private int moveCount;
+    private char winner;
+    private long hash;
+
+    public Board() {
+        this(DEFAULT_SIZE, DEFAULT_SIZE);
+    }
+
+    public Board(int size, int winLength) {
+        if (size < 1 || winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException(
+                "Invalid board " + size + "x" + size + " with win length " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        grid = new char[size][size];
+        zobristKeys = ZOBRIST_KEYS.computeIfAbsent(size, Board::createZobristKeys);
+        if (size * size <= MAX_COMPACT_CELLS) {
+            List<Long> masks = createWinMasks();
+            winMasks = new long[masks.size()];
+            for (int i = 0; i < winMasks.length; i++) {
+                winMasks[i] = masks.get(i);
+            }
+            cellWinMasks = createCellWinMasks(winMasks);
+        } else {
+            winMasks = null;
+            cellWinMasks = null;
+        }
+        initializeBoard();
+    }
+
+    public Board(Board other) {
+        size = other.size;
+        winLength = other.winLength;
+        winMasks = other.winMasks;
+        cellWinMasks = other.cellWinMasks;
+        zobristKeys = other.zobristKeys;
+        grid = new char[size][];
+        for (int i = 0; i < size; i++) {
+            grid[i] = other.grid[i].clone();
+        }
+        xBits = other.xBits;
+        oBits = other.oBits;
+        moveCount = other.moveCount;
+        winner = other.winner;
+        hash = other.hash;
+    }
+
+    public void copyFrom(Board other) {
+        if (other.size != size || other.winLength != winLength) {
+            throw new IllegalArgumentException("Boards have different dimensions");
+        }
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(other.grid[i], 0, grid[i], 0, size);
+        }
+        xBits = other.xBits;
+        oBits = other.oBits;
+        moveCount = other.moveCount;
+        winner = other.winner;
+        hash = other.hash;
+    }
+
+    public void initializeBoard() {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = Symbol.EMPTY.getValue();
+            }
+        }
+        xBits = 0;
+        oBits = 0;
+        moveCount = 0;
+        winner = Symbol.EMPTY.getValue();
+        hash = 0;
+    }
+
+    public boolean isValidMove(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size && 
+               grid[row][col] == Symbol.EMPTY.getValue();
+    }
+
+    // Writes the empty cells, as row * size + col in ascending order, to the start of cells
+    // and returns how many there are. cells needs room for every empty cell.
+    public int getLegalMoves(int[] cells) {
+        int count = 0;
+        if (winMasks != null) {
+            long free = ~(xBits | oBits) & getFullMask();
+            while (free != 0) {
+                cells[count++] = Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+            return count;
+        }
+        for (int cell = 0; cell < size * size; cell++) {
+            if (grid[cell / size][cell % size] == Symbol.EMPTY.getValue()) {
+                cells[count++] = cell;
+            }
+        }
+        return count;
+    }
+
+    public void makeMove(int row, int col, char symbol) {
+        grid[row][col] = symbol;
+        moveCount++;
+        hash ^= zobristKey(row * size + col, symbol);
+        if (isCompact()) {
+            if (symbol == Symbol.X.getValue()) {
+                xBits |= bit(row, col);
+            } else {
+                oBits |= bit(row, col);
+            }
+        }
+        // Only lines through the last move can have been completed by it
+        if (isWinAt(row, col, symbol)) {
+            winner = symbol;
+        }
+    }
+
+    public void undoMove(int row, int col) {
+        hash ^= zobristKey(row * size + col, grid[row][col]);
+        grid[row][col] = Symbol.EMPTY.getValue();
+        moveCount--;
+        if (isCompact()) {
+            xBits &= ~bit(row, col);
+            oBits &= ~bit(row, col);
+        }
+        // No move is ever made after a win, so undoing always clears it
+        winner = Symbol.EMPTY.getValue();
+    }
+
+    public boolean hasWinner() {
+        return winner != Symbol.EMPTY.getValue();
+    }
+
+    public char getWinner() {
+        return winner;
+    }
+
+    public boolean isFull() {
+        return moveCount == size * size;
+    }
+
+    public char[][] getGrid() {
+        return grid;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // Zobrist hash of the position; equal positions on boards of the same size hash equally
+    public long getHash() {
+        return hash;
+    }
+
+    // The value makeMove XORs into the hash when symbol is placed on cell (row * size + col)
+    long zobristKey(int cell, char symbol) {
+        return zobristKeys[cell * 2 + (symbol == Symbol.X.getValue() ? 0 : 1)];
+    }
+
+    public boolean isCompact() {
+        return winMasks != null;
+    }
+
+    public long getBits(char symbol) {
+        return symbol == Symbol.X.getValue() ? xBits : oBits;
+    }
+
+    public long getFullMask() {
+        return size * size == Long.SIZE ? -1L : (1L << (size * size)) - 1;
+    }
+
+    public boolean isWin(long bits) {
+        for (long mask : winMasks) {
+            if ((bits & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isWinAt(int row, int col, char symbol) {
+        if (isCompact()) {
+            long bits = getBits(symbol);
+            for (long mask : cellWinMasks[row * size + col]) {
+                if ((bits & mask) == mask) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int[] direction : DIRECTIONS) {
+            int count = 1 + countRun(row, col, direction[0], direction[1], symbol)
+                          + countRun(row, col, -direction[0], -direction[1], symbol);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int countRun(int row, int col, int rowStep, int colStep, char symbol) {
+        int count = 0;
+        int r = row + rowStep;
+        int c = col + colStep;
+        while (count < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size && 
+               grid[r][c] == symbol) {
+            count++;
+            r += rowStep;
+            c += colStep;
+        }
+        return count;
+    }
+
+    private long bit(int row, int col) {
+        return 1L << (row * size + col);
+    }
+
+    private List<Long> createWinMasks() {
+        List<Long> masks = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                for (int[] direction : DIRECTIONS) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) {
+                        continue;
+                    }
+                    long mask = 0;
+                    for (int k = 0; k < winLength; k++) {
+                        mask |= bit(row + direction[0] * k, col + direction[1] * k);
+                    }
+                    // A win length of one yields the same mask in every direction
+                    if (!masks.contains(mask)) {
+                        masks.add(mask);
+                    }
+                }
+            }
+        }
+        return masks;
+    }
+
+    private static long[] createZobristKeys(int size) {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + size);
+        long[] keys = new long[size * size * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    private long[][] createCellWinMasks(long[] masks) {
+        long[][] result = new long[size * size][];
+        for (int cell = 0; cell < result.length; cell++) {
+            int count = 0;
+            long[] through = new long[masks.length];
+            for (long mask : masks) {
+                if ((mask & (1L << cell)) != 0) {
+                    through[count++] = mask;
+                }
+            }
+            result[cell] = Arrays.copyOf(through, count);
+        }
+        return result;
+    }
+}
\ No newline at end of file
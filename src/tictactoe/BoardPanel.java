@@ -0,0 +1,162 @@
+package tictactoe;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+
+// Paints the whole board in one component. refresh repaints only the cells whose symbol
+// changed, and paintComponent draws only the cells inside the clip, so a move on a large
+// board costs one cell of painting. Clicks are reported as row * size + col.
+final class BoardPanel extends JComponent {
+    private static final long serialVersionUID = 1L;
+    static final int FADE_STEPS = 10;
+    private static final int BOARD_PIXELS = 300;
+    private static final int MIN_CELL_SIZE = 40;
+    private static final int GAP = 2;
+    private static final char[] SYMBOLS = {Symbol.X.getValue(), Symbol.O.getValue()};
+    // Symbol colours for every step of the fade, made once so animating allocates nothing
+    private static final Color[] FADE_COLORS = new Color[FADE_STEPS + 1];
+
+    static {
+        for (int step = 0; step <= FADE_STEPS; step++) {
+            FADE_COLORS[step] = new Color(1f, 1f, 1f, 1f - (float) step / FADE_STEPS);
+        }
+    }
+
+    private final Board board;
+    private final int size;
+    // The symbol last painted in each cell
+    private final char[] shown;
+    private final Rectangle clip = new Rectangle();
+    private int fadeStep;
+    private Font font;
+    private FontMetrics metrics;
+    private int fontCellSize;
+
+    BoardPanel(Board board, IntConsumer cellClicked) {
+        this.board = board;
+        this.size = board.getSize();
+        this.shown = new char[size * size];
+        for (int cell = 0; cell < shown.length; cell++) {
+            shown[cell] = symbolAt(cell);
+        }
+        // Shrink cells on larger boards so the window stays on screen
+        int cellSize = Math.max(MIN_CELL_SIZE, BOARD_PIXELS / size);
+        setPreferredSize(new Dimension(cellSize * size, cellSize * size));
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (cell >= 0) {
+                    cellClicked.accept(cell);
+                }
+            }
+        });
+    }
+
+    // Repaints the cells whose symbol differs from what is on screen
+    void refresh() {
+        int cellSize = getCellSize();
+        for (int cell = 0; cell < shown.length; cell++) {
+            char symbol = symbolAt(cell);
+            if (symbol != shown[cell]) {
+                shown[cell] = symbol;
+                repaint(getOriginX(cellSize) + cell % size * cellSize,
+                    getOriginY(cellSize) + cell / size * cellSize, cellSize, cellSize);
+            }
+        }
+    }
+
+    // 0 shows the symbols in full, FADE_STEPS hides them
+    void setFadeStep(int step) {
+        if (step != fadeStep) {
+            fadeStep = step;
+            repaint();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int cellSize = getCellSize();
+        int originX = getOriginX(cellSize);
+        int originY = getOriginY(cellSize);
+        // Without a clip the whole component is painted
+        clip.setBounds(0, 0, getWidth(), getHeight());
+        g.getClipBounds(clip);
+        g.setColor(GameGUI.BACKGROUND_COLOR);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (cellSize <= GAP) {
+            return;
+        }
+        if (cellSize != fontCellSize) {
+            font = new Font("Arial", Font.PLAIN, cellSize * 2 / 5);
+            metrics = getFontMetrics(font);
+            fontCellSize = cellSize;
+        }
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+
+        int firstCol = Math.max(0, (clip.x - originX) / cellSize);
+        int lastCol = Math.min(size - 1, (clip.x + clip.width - originX) / cellSize);
+        int firstRow = Math.max(0, (clip.y - originY) / cellSize);
+        int lastRow = Math.min(size - 1, (clip.y + clip.height - originY) / cellSize);
+        int baselineOffset = (metrics.getAscent() - metrics.getDescent()) / 2;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = originX + col * cellSize;
+                int y = originY + row * cellSize;
+                g.setColor(GameGUI.BUTTON_COLOR);
+                g.fillRect(x + GAP / 2, y + GAP / 2, cellSize - GAP, cellSize - GAP);
+                int symbol = shown[row * size + col] == SYMBOLS[0] ? 0
+                    : shown[row * size + col] == SYMBOLS[1] ? 1 : -1;
+                if (symbol >= 0) {
+                    g.setColor(FADE_COLORS[fadeStep]);
+                    g.drawChars(SYMBOLS, symbol, 1,
+                        x + (cellSize - metrics.charWidth(SYMBOLS[symbol])) / 2,
+                        y + cellSize / 2 + baselineOffset);
+                }
+            }
+        }
+    }
+
+    private int cellAt(int x, int y) {
+        int cellSize = getCellSize();
+        if (cellSize <= 0) {
+            return -1;
+        }
+        int col = Math.floorDiv(x - getOriginX(cellSize), cellSize);
+        int row = Math.floorDiv(y - getOriginY(cellSize), cellSize);
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return -1;
+        }
+        return row * size + col;
+    }
+
+    private char symbolAt(int cell) {
+        return board.getGrid()[cell / size][cell % size];
+    }
+
+    // Cells stay square; the board is centred in whatever space the layout gives it
+    private int getCellSize() {
+        return Math.min(getWidth(), getHeight()) / size;
+    }
+
+    private int getOriginX(int cellSize) {
+        return (getWidth() - cellSize * size) / 2;
+    }
+
+    private int getOriginY(int cellSize) {
+        return (getHeight() - cellSize * size) / 2;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package tictactoe;
+
+// Weaker levels search only a few plies within a small node budget and add random noise to
+// each root move's score, so they cost little to serve. Noise above WIN_SCORE sometimes
+// makes a move that loses by force look better than one that does not; the further above,
+// the more often. Measured with DifficultyCalibration over 20,000 classic games per colour,
+// perfect play beats EASY in 96% of games as X and 60% as O, and MEDIUM in 62% and 27%.
+public enum Difficulty {
+    EASY("Easy", 2, 2_000, 3 * MinimaxSearch.WIN_SCORE),
+    MEDIUM("Medium", 6, 20_000, MinimaxSearch.WIN_SCORE + 800_000),
+    HARD("Hard", Integer.MAX_VALUE, Long.MAX_VALUE, 0);
+
+    private final String displayName;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final int noise;
+
+    Difficulty(String displayName, int maxDepth, long maxNodes, int noise) {
+        this.displayName = displayName;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.noise = noise;
+    }
+
+    // The search budget for this level, never more than the given limits
+    SearchLimits limit(SearchLimits limits) {
+        return new SearchLimits(limits.timeMillis(), Math.min(maxNodes, limits.maxNodes()),
+            Math.min(maxDepth, limits.maxDepth()));
+    }
+
+    // The largest random amount added to a root move's score
+    int getNoise() {
+        return noise;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
\ No newline at end of file
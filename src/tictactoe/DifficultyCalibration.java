@@ -0,0 +1,78 @@
+package tictactoe;
+
+import java.util.Random;
+
+// Measures each Difficulty against HARD, which plays perfectly on the classic board, and
+// how long each level takes per move. Rerun after changing the search or the levels.
+// Usage: DifficultyCalibration [--games 20000] [--size 3] [--win 3] [--threads N]
+//                              [--time-ms 1000]
+public class DifficultyCalibration {
+    private static final int LATENCY_SAMPLES = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        long games = 20_000;
+        int size = Board.DEFAULT_SIZE;
+        int winLength = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(args[i + 1]); break;
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        winLength = winLength > 0 ? winLength : size;
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        PlayerSpec hard = PlayerSpec.parse("ai:hard", limits);
+
+        System.out.printf("%dx%d board, %d in a row, %d games per colour%n",
+            size, size, winLength, games);
+        System.out.println("level   HARD wins as X   HARD wins as O   draws   us per move");
+        for (Difficulty difficulty : Difficulty.values()) {
+            PlayerSpec level = PlayerSpec.parse("ai:" + difficulty.name(), limits);
+            GameStats asX = new SelfPlay(hard, level, size, winLength, threads).play(games).stats();
+            GameStats asO = new SelfPlay(level, hard, size, winLength, threads).play(games).stats();
+            long draws = asX.getDraws() + asO.getDraws();
+            System.out.printf("%-6s  %14.1f%%  %14.1f%%  %5.1f%%  %11.1f%n", difficulty,
+                100.0 * asX.getWins(Symbol.X.getValue()) / games,
+                100.0 * asO.getWins(Symbol.O.getValue()) / games,
+                100.0 * draws / (2 * games),
+                microsPerMove(difficulty, limits, size, winLength));
+        }
+    }
+
+    // Times the level on positions a few random moves into the game
+    private static double microsPerMove(Difficulty difficulty, SearchLimits limits, int size,
+                                        int winLength) {
+        AIPlayer player = new AIPlayer(Symbol.X, difficulty, limits);
+        Random random = new Random(1);
+        Board board = new Board(size, winLength);
+        long nanos = 0;
+        int timed = 0;
+        for (int sample = 0; sample < LATENCY_SAMPLES; sample++) {
+            board.initializeBoard();
+            // An even number of moves, so X is to move
+            int plies = 2 * random.nextInt(Math.min(3, size * size / 2) + 1);
+            for (int ply = 0; ply < plies && !board.hasWinner(); ply++) {
+                int cell;
+                do {
+                    cell = random.nextInt(size * size);
+                } while (!board.isValidMove(cell / size, cell % size));
+                board.makeMove(cell / size, cell % size,
+                    ply % 2 == 0 ? Symbol.X.getValue() : Symbol.O.getValue());
+            }
+            if (board.hasWinner()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            player.getMove(board);
+            nanos += System.nanoTime() - start;
+            timed++;
+        }
+        return nanos / 1e3 / timed;
+    }
+}
\ No newline at end of file
@@ -1,3 +1,5 @@
+package tictactoe;
+
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -0,0 +1,418 @@
+package tictactoe;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Solves a whole game by splitting it into work units at a fixed depth and handing them to
+// worker JVMs on this machine.
+//
+// The coordinator lists every unfinished position at --split-depth plies in <dir>/units.txt,
+// one for each set of rotations and reflections (see Symmetry), starts the workers and
+// serves them units over a loopback socket:
+//   coordinator -> worker   SOLVE <id> <winLength> <cells, row by row>
+//   worker -> coordinator   DONE <id> <score> <cell> <nodes>
+// Every answer is appended to <dir>/results.log as it arrives. Running again with the same
+// --dir skips the units already in the log, so a killed run carries on where it stopped.
+// Once all units are in, the scores are backed up the tree to the empty board.
+// Usage: DistributedSolver [--size 4] [--win 4] [--split-depth 4] [--workers N]
+//                          [--dir solve-work]
+public class DistributedSolver {
+    private static final String UNITS_FILE = "units.txt";
+    private static final String RESULTS_FILE = "results.log";
+    // Effectively unlimited, yet far enough from overflow when added to System.nanoTime
+    private static final SearchLimits EXACT = new SearchLimits(
+        TimeUnit.DAYS.toMillis(365), Long.MAX_VALUE, Integer.MAX_VALUE);
+    private static final long PROGRESS_INTERVAL_MILLIS = 10_000;
+
+    private final int size;
+    private final int winLength;
+    private final int splitDepth;
+    private final Path dir;
+    private final Symmetry symmetry;
+    // Units by position key, in id order
+    private final Map<Long, Unit> units = new LinkedHashMap<>();
+    private final Map<Integer, UnitResult> results = new ConcurrentHashMap<>();
+
+    public DistributedSolver(int size, int winLength, int splitDepth, Path dir) {
+        this.size = size;
+        this.winLength = winLength;
+        this.splitDepth = splitDepth;
+        this.dir = dir;
+        this.symmetry = Symmetry.of(size);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int size = 4;
+        int winLength = -1;
+        int splitDepth = 4;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Path dir = Paths.get("solve-work");
+        int connectPort = -1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--split-depth": splitDepth = Integer.parseInt(args[i + 1]); break;
+                case "--workers": workers = Integer.parseInt(args[i + 1]); break;
+                case "--dir": dir = Paths.get(args[i + 1]); break;
+                // Used by the coordinator to start its workers
+                case "--connect": connectPort = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (connectPort > 0) {
+            work(connectPort);
+            return;
+        }
+        if (size * size > OpeningBook.MAX_CELLS) {
+            throw new IllegalArgumentException(
+                "The solver supports at most " + OpeningBook.MAX_CELLS + " cells");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("--workers must be at least 1");
+        }
+        winLength = winLength > 0 ? Math.min(winLength, size) : size;
+
+        long start = System.nanoTime();
+        DistributedSolver solver = new DistributedSolver(size, winLength, splitDepth, dir);
+        solver.prepare();
+        solver.solveUnits(workers);
+        SearchResult root = solver.merge();
+        long nodes = 0;
+        for (UnitResult result : solver.results.values()) {
+            nodes += result.nodes();
+        }
+        System.out.printf("%dx%d board, %d in a row: %s, best first move %d %d%n",
+            size, size, winLength, describe(root.score()), root.cell() / size, root.cell() % size);
+        System.out.printf("%d units, %,d nodes, %.1f s%n",
+            solver.units.size(), nodes, (System.nanoTime() - start) / 1e9);
+    }
+
+    // Lists the units, or reloads them and the results so far from an earlier run
+    void prepare() throws IOException {
+        Files.createDirectories(dir);
+        for (Board position : collectUnits()) {
+            long key = symmetry.canonicalKey(position, sideToMove(position));
+            units.put(key, new Unit(units.size(), cells(position)));
+        }
+        String header = size + " " + winLength + " " + splitDepth + " " + units.size();
+        Path unitsFile = dir.resolve(UNITS_FILE);
+        if (Files.exists(unitsFile)) {
+            List<String> lines = Files.readAllLines(unitsFile, StandardCharsets.US_ASCII);
+            if (lines.isEmpty() || !lines.get(0).equals(header)) {
+                throw new IllegalStateException(dir + " holds a different solve ("
+                    + (lines.isEmpty() ? "empty" : lines.get(0)) + "), expected " + header);
+            }
+            loadResults();
+        } else {
+            List<String> lines = new ArrayList<>(units.size() + 1);
+            lines.add(header);
+            for (Unit unit : units.values()) {
+                lines.add(unit.id() + " " + unit.cells());
+            }
+            Path temp = dir.resolve(UNITS_FILE + ".tmp");
+            Files.write(temp, lines, StandardCharsets.US_ASCII);
+            Files.move(temp, unitsFile);
+            Files.deleteIfExists(dir.resolve(RESULTS_FILE));
+        }
+        System.out.printf("%d units at depth %d, %d already solved%n",
+            units.size(), splitDepth, results.size());
+    }
+
+    // A line cut short by a crash is dropped, and cut off so new lines start cleanly
+    private void loadResults() throws IOException {
+        Path log = dir.resolve(RESULTS_FILE);
+        if (!Files.exists(log)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(log);
+        int complete = bytes.length;
+        while (complete > 0 && bytes[complete - 1] != '\n') {
+            complete--;
+        }
+        if (complete < bytes.length) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+            }
+        }
+        String text = new String(bytes, 0, complete, StandardCharsets.US_ASCII);
+        for (String line : text.split("\n")) {
+            if (!line.isBlank()) {
+                String[] parts = line.trim().split(" ");
+                results.put(Integer.parseInt(parts[0]), new UnitResult(Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Long.parseLong(parts[3])));
+            }
+        }
+    }
+
+    void solveUnits(int workerCount) throws IOException, InterruptedException {
+        LinkedBlockingQueue<Unit> pending = new LinkedBlockingQueue<>();
+        for (Unit unit : units.values()) {
+            if (!results.containsKey(unit.id())) {
+                pending.add(unit);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        CountDownLatch remaining = new CountDownLatch(pending.size());
+        List<Process> workers = new ArrayList<>(workerCount);
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        try (ServerSocket server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress());
+             BufferedWriter log = Files.newBufferedWriter(dir.resolve(RESULTS_FILE),
+                 StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (int i = 0; i < Math.min(workerCount, pending.size()); i++) {
+                workers.add(startWorker(server.getLocalPort()));
+            }
+            handlers.execute(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        Socket connection = server.accept();
+                        handlers.execute(() -> serve(connection, pending, remaining, log));
+                    } catch (IOException e) {
+                        // The server closes once every unit is solved
+                    }
+                }
+            });
+
+            long total = remaining.getCount();
+            long lastReport = System.nanoTime();
+            while (!remaining.await(1, TimeUnit.SECONDS)) {
+                if (workers.stream().noneMatch(Process::isAlive)) {
+                    throw new IllegalStateException("Every worker exited with "
+                        + remaining.getCount() + " units left; run again to resume");
+                }
+                if (System.nanoTime() - lastReport > PROGRESS_INTERVAL_MILLIS * 1_000_000L) {
+                    System.out.printf("%d of %d units solved%n",
+                        total - remaining.getCount(), total);
+                    lastReport = System.nanoTime();
+                }
+            }
+        } finally {
+            handlers.shutdownNow();
+            for (Process worker : workers) {
+                worker.destroy();
+            }
+        }
+    }
+
+    private static Process startWorker(int port) throws IOException {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        return new ProcessBuilder(java.toString(), "-cp", System.getProperty("java.class.path"),
+            DistributedSolver.class.getName(), "--connect", String.valueOf(port))
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    }
+
+    // Feeds one worker until the queue is empty. A unit whose worker dies or answers with
+    // anything but its result goes back in the queue.
+    private void serve(Socket connection, LinkedBlockingQueue<Unit> pending,
+                       CountDownLatch remaining, BufferedWriter log) {
+        try (Socket socket = connection;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(
+                 socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            while (remaining.getCount() > 0) {
+                Unit unit = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (unit == null) {
+                    continue;
+                }
+                String reply;
+                try {
+                    out.println("SOLVE " + unit.id() + " " + winLength + " " + unit.cells());
+                    reply = in.readLine();
+                } catch (IOException e) {
+                    reply = null;
+                }
+                UnitResult result = parseResult(reply, unit);
+                if (result == null) {
+                    pending.add(unit);
+                    return;
+                }
+                synchronized (log) {
+                    log.write(unit.id() + " " + result.score() + " " + result.cell() + " "
+                        + result.nodes() + "\n");
+                    log.flush();
+                }
+                results.put(unit.id(), result);
+                remaining.countDown();
+            }
+        } catch (IOException e) {
+            // The worker went away; anything it held is back in the queue
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The result in a DONE reply for the given unit, or null if the reply is anything else
+    private static UnitResult parseResult(String reply, Unit unit) {
+        String[] parts = reply != null ? reply.split(" ") : new String[0];
+        if (parts.length != 5 || !parts[0].equals("DONE")) {
+            return null;
+        }
+        try {
+            if (Integer.parseInt(parts[1]) != unit.id()) {
+                return null;
+            }
+            return new UnitResult(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                Long.parseLong(parts[4]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Worker side: solves each unit exactly and answers until the coordinator hangs up
+    private static void work(int port) throws IOException {
+        // A unit can take a long time, so do not wait for the socket to notice a killed coordinator
+        ProcessHandle.current().parent().ifPresent(coordinator ->
+            coordinator.onExit().thenRun(() -> System.exit(1)));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(
+                 socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length != 4 || !parts[0].equals("SOLVE")) {
+                    throw new IOException("Unexpected request: " + line);
+                }
+                Board position = PositionAnalyzer.parseBoard(parts[3], Integer.parseInt(parts[2]));
+                SearchResult result = new MinimaxSearch(position, EXACT)
+                    .search(sideToMove(position));
+                out.println("DONE " + parts[1] + " " + result.score() + " " + result.cell()
+                    + " " + result.nodes());
+            }
+        }
+    }
+
+    // Backs the unit scores up to the empty board; the result is for X to move
+    SearchResult merge() {
+        Board board = new Board(size, winLength);
+        Map<Long, Integer> solved = new HashMap<>();
+        int[] bestCell = {-1};
+        int score = backUp(board, solved, bestCell);
+        return new SearchResult(bestCell[0], score, size * size, 0);
+    }
+
+    // The exact score for the side to move, counting plies from this position
+    private int backUp(Board board, Map<Long, Integer> solved, int[] rootCell) {
+        if (board.hasWinner()) {
+            return -MinimaxSearch.WIN_SCORE;
+        }
+        if (board.isFull()) {
+            return MinimaxSearch.DRAW_SCORE;
+        }
+        char mover = sideToMove(board);
+        long key = symmetry.canonicalKey(board, mover);
+        if (board.getMoveCount() == splitDepth) {
+            UnitResult result = results.get(units.get(key).id());
+            if (rootCell != null) {
+                rootCell[0] = result.cell();
+            }
+            return result.score();
+        }
+        Integer known = solved.get(key);
+        if (known != null) {
+            return known;
+        }
+        int best = Integer.MIN_VALUE;
+        int[] cells = new int[size * size];
+        int count = board.getLegalMoves(cells);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(cells[i] / size, cells[i] % size, mover);
+            int score = awayFromChild(backUp(board, solved, null));
+            board.undoMove(cells[i] / size, cells[i] % size);
+            if (score > best) {
+                best = score;
+                if (rootCell != null) {
+                    rootCell[0] = cells[i];
+                }
+            }
+        }
+        solved.put(key, best);
+        return best;
+    }
+
+    // A child's score seen from its parent: negated, and a forced result is one ply further off
+    private int awayFromChild(int score) {
+        if (Math.abs(score) >= MinimaxSearch.WIN_SCORE - size * size) {
+            return -(score - Integer.signum(score));
+        }
+        return -score;
+    }
+
+    // Every unfinished position exactly splitDepth plies from the start, up to symmetry
+    private List<Board> collectUnits() {
+        List<Board> frontier = new ArrayList<>();
+        frontier.add(new Board(size, winLength));
+        for (int ply = 0; ply < splitDepth && !frontier.isEmpty(); ply++) {
+            Map<Long, Board> next = new LinkedHashMap<>();
+            for (Board position : frontier) {
+                char mover = sideToMove(position);
+                for (int cell = 0; cell < size * size; cell++) {
+                    if (position.isValidMove(cell / size, cell % size)) {
+                        Board child = new Board(position);
+                        child.makeMove(cell / size, cell % size, mover);
+                        if (!child.hasWinner() && !child.isFull()) {
+                            next.putIfAbsent(
+                                symmetry.canonicalKey(child, MinimaxSearch.opponentOf(mover)),
+                                child);
+                        }
+                    }
+                }
+            }
+            frontier = new ArrayList<>(next.values());
+        }
+        return frontier;
+    }
+
+    private static String describe(int score) {
+        if (Math.abs(score) < MinimaxSearch.WIN_SCORE - OpeningBook.MAX_CELLS) {
+            return "draw";
+        }
+        return (score > 0 ? "X" : "O") + " wins in " + (MinimaxSearch.WIN_SCORE - Math.abs(score))
+            + " plies";
+    }
+
+    private static String cells(Board board) {
+        StringBuilder builder = new StringBuilder(board.getSize() * board.getSize());
+        for (char[] row : board.getGrid()) {
+            builder.append(row);
+        }
+        return builder.toString();
+    }
+
+    private static char sideToMove(Board board) {
+        return board.getMoveCount() % 2 == 0 ? Symbol.X.getValue() : Symbol.O.getValue();
+    }
+
+    private record Unit(int id, String cells) {}
+
+    private record UnitResult(int score, int cell, long nodes) {}
+}
\ No newline at end of file
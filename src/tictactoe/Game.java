@@ -0,0 +1,146 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+public class Game {
+    private final Board board;
+    private final Player playerX;
+    private final Player playerO;
+    private Player currentPlayer;
+    private GameState state;
+    // Cells played so far, as row * size + col. Entries from moveCount up to historyLength
+    // are moves that were undone and can still be redone.
+    private final int[] moves;
+    private int moveCount;
+    private int historyLength;
+
+    public Game(Player playerX, Player playerO) {
+        this(playerX, playerO, Board.DEFAULT_SIZE, Board.DEFAULT_SIZE);
+    }
+
+    public Game(Player playerX, Player playerO, int size, int winLength) {
+        this.board = new Board(size, winLength);
+        this.playerX = playerX;
+        this.playerO = playerO;
+        this.currentPlayer = playerX;
+        this.state = GameState.IN_PROGRESS;
+        this.moves = new int[size * size];
+    }
+
+    // Add new reset method
+    public void reset() {
+        board.initializeBoard();
+        currentPlayer = playerX;
+        state = GameState.IN_PROGRESS;
+        moveCount = 0;
+        historyLength = 0;
+    }
+
+    // The cell as row * size + col, as returned by Player.getMoveCell
+    public void makeMove(int cell) {
+        makeMove(cell / board.getSize(), cell % board.getSize());
+    }
+
+    public void makeMove(int row, int col) {
+        if (state != GameState.IN_PROGRESS || !board.isValidMove(row, col)) {
+            return;
+        }
+
+        int cell = row * board.getSize() + col;
+        // Playing the move that was undone keeps the rest of the redo history
+        if (moveCount == historyLength || moves[moveCount] != cell) {
+            historyLength = moveCount + 1;
+        }
+        moves[moveCount++] = cell;
+        play(row, col);
+    }
+
+    public boolean canUndo() {
+        return moveCount > 0;
+    }
+
+    public boolean canRedo() {
+        return moveCount < historyLength;
+    }
+
+    // Takes back the last move, even after the game has ended
+    public void undoMove() {
+        if (!canUndo()) {
+            return;
+        }
+        int cell = moves[--moveCount];
+        board.undoMove(cell / board.getSize(), cell % board.getSize());
+        state = GameState.IN_PROGRESS;
+        // X made every even ply
+        currentPlayer = moveCount % 2 == 0 ? playerX : playerO;
+    }
+
+    public void redoMove() {
+        if (!canRedo()) {
+            return;
+        }
+        int cell = moves[moveCount++];
+        play(cell / board.getSize(), cell % board.getSize());
+    }
+
+    private void play(int row, int col) {
+        board.makeMove(row, col, currentPlayer.getSymbol());
+        updateGameState();
+        playerX.moveMade(board, row, col, currentPlayer.getSymbol());
+        playerO.moveMade(board, row, col, currentPlayer.getSymbol());
+
+        // Only switch players if the game is still in progress
+        if (state == GameState.IN_PROGRESS) {
+            switchPlayer();
+        }
+    }
+
+    private void updateGameState() {
+        if (board.hasWinner()) {
+            state = GameState.WINNER;
+        } else if (board.isFull()) {
+            state = GameState.DRAW;
+        }
+    }
+
+    private void switchPlayer() {
+        currentPlayer = (currentPlayer == playerX) ? playerO : playerX;
+    }
+
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public char getWinner() {
+        return currentPlayer.getSymbol();
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // The board's Zobrist hash, ready to key any cache of positions
+    public long getHash() {
+        return board.getHash();
+    }
+
+    // The cell played at the given ply, as row * size + col
+    public int getMoveAt(int ply) {
+        if (ply < 0 || ply >= moveCount) {
+            throw new IndexOutOfBoundsException("No move at ply " + ply);
+        }
+        return moves[ply];
+    }
+
+    public int[] getMoveHistory() {
+        return Arrays.copyOf(moves, moveCount);
+    }
+}
\ No newline at end of file
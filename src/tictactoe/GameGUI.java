@@ -0,0 +1,275 @@
+package tictactoe;
+
+import javax.swing.JFrame;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GameGUI extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private final Game game;
+    private final BoardPanel boardPanel;
+    private final JLabel statusLabel;
+    private final JLabel statsLabel;
+    private final JButton replayButton;
+    private final GameStats gameStats;
+    private final Timer animationTimer;
+    private final AIPlayer aiPlayer;
+    private final ExecutorService aiExecutor;
+    private boolean aiThinking;
+    private Future<?> pendingAiMove;
+    // Incremented on every reset, so results of abandoned searches are ignored
+    private int gameGeneration;
+    static final Color BACKGROUND_COLOR = new Color(102, 51, 153);
+    static final Color BUTTON_COLOR = new Color(200, 150, 255);
+    // Results from every session on this machine accumulate here
+    private static final Path STATS_FILE = Paths.get(System.getProperty("user.home"),
+        ".tictactoe-stats");
+
+    public GameGUI() {
+        this(Board.DEFAULT_SIZE, Board.DEFAULT_SIZE);
+    }
+
+    public GameGUI(int size, int winLength) {
+        DifficultyDialog dialog = new DifficultyDialog(this);
+        dialog.setVisible(true);
+        
+        if (!dialog.shouldStartGame()) {
+            System.exit(0);
+        }
+        
+        Difficulty selectedDifficulty = dialog.getSelectedDifficulty();
+        aiPlayer = new AIPlayer(Symbol.O, selectedDifficulty);
+        aiPlayer.setPondering(true);
+        game = new Game(
+            new HumanPlayer(Symbol.X), 
+            aiPlayer,
+            size,
+            winLength
+        );
+
+        boardPanel = new BoardPanel(game.getBoard(), this::handleCellClick);
+        statusLabel = new JLabel("Player X's turn");
+        replayButton = new JButton("Play Again");
+        gameStats = loadStats();
+        statsLabel = new JLabel(gameStats.getStatsDisplay());
+        animationTimer = new Timer(50, null);  // Initialize timer in constructor
+        animationTimer.setRepeats(true);
+        aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        initializeGUI();
+    }
+
+    private void initializeGUI() {
+        Board board = game.getBoard();
+        setTitle(board.getWinLength() == board.getSize()
+            ? "Tic Tac Toe"
+            : "Tic Tac Toe (" + board.getWinLength() + " in a row)");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelAiMove();
+                aiExecutor.shutdownNow();
+            }
+        });
+        setLayout(new BorderLayout());
+        getContentPane().setBackground(BACKGROUND_COLOR);
+
+        // Add stats panel at the top
+        JPanel statsPanel = new JPanel();
+        statsPanel.setBackground(BACKGROUND_COLOR);
+        statsLabel.setForeground(Color.WHITE);
+        statsLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        statsPanel.add(statsLabel);
+        add(statsPanel, BorderLayout.NORTH);
+
+        add(boardPanel, BorderLayout.CENTER);
+        
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.setBackground(BACKGROUND_COLOR);
+        
+        statusLabel.setForeground(Color.WHITE);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        
+        replayButton.setBackground(BUTTON_COLOR);
+        replayButton.setForeground(Color.WHITE);
+        replayButton.setFont(new Font("Arial", Font.BOLD, 14));
+        replayButton.addActionListener(e -> confirmAndResetGame());
+        bottomPanel.add(replayButton, BorderLayout.EAST);
+        
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private void confirmAndResetGame() {
+        if (game.getState() == GameState.IN_PROGRESS) {
+            int result = JOptionPane.showConfirmDialog(
+                this,
+                "Current game is still in progress. Are you sure you want to restart?",
+                "Confirm Restart",
+                JOptionPane.YES_NO_OPTION
+            );
+            if (result != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+        
+        cancelAiMove();
+
+        // Update stats before resetting
+        if (game.getState() != GameState.IN_PROGRESS) {
+            gameStats.updateStats(aiPlayer.getDifficulty(), game.getState(),
+                game.getCurrentPlayer().getSymbol(), game.getBoard().getMoveCount());
+            statsLabel.setText(gameStats.getStatsDisplay());
+            saveStats();
+        }
+        
+        animateReset();
+    }
+
+    private static GameStats loadStats() {
+        try {
+            return GameStats.load(STATS_FILE);
+        } catch (IOException e) {
+            System.err.println("Could not read " + STATS_FILE + ": " + e.getMessage());
+            return new GameStats();
+        }
+    }
+
+    private void saveStats() {
+        try {
+            gameStats.appendTo(STATS_FILE);
+        } catch (IOException e) {
+            System.err.println("Could not write " + STATS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void animateReset() {
+        replayButton.setEnabled(false);
+        final int[] currentFrame = {0};
+        final int totalFrames = BoardPanel.FADE_STEPS;
+        
+        for (var listener : animationTimer.getActionListeners()) {
+            animationTimer.removeActionListener(listener);
+        }
+        
+        animationTimer.addActionListener(e -> {
+            if (currentFrame[0] < totalFrames) {
+                boardPanel.setFadeStep(currentFrame[0]);
+                currentFrame[0]++;
+            } else {
+                animationTimer.stop();
+                finalizeReset();
+            }
+        });
+        
+        animationTimer.start();
+    }
+
+    private void finalizeReset() {
+        // A move the AI started on the old board must not land on the new one
+        cancelAiMove();
+        game.reset();
+        boardPanel.refresh();
+        boardPanel.setFadeStep(0);
+        statusLabel.setText("Player X's turn");
+        replayButton.setEnabled(true);
+    }
+
+    private void handleCellClick(int cell) {
+        // The old game stays on screen while it fades out, but is no longer played
+        if (game.getState() == GameState.IN_PROGRESS && !aiThinking
+                && !animationTimer.isRunning()) {
+            game.makeMove(cell);
+            updateGUI();
+            
+            // AI move
+            if (game.getState() == GameState.IN_PROGRESS && game.getCurrentPlayer() == aiPlayer) {
+                startAiMove();
+            }
+        }
+    }
+
+    // Searches on a background thread so the window stays responsive
+    private void startAiMove() {
+        aiThinking = true;
+        int generation = gameGeneration;
+        Board position = new Board(game.getBoard());
+        statusLabel.setText("Player " + aiPlayer.getSymbol() + " is thinking...");
+        aiPlayer.setSearchListener(result -> SwingUtilities.invokeLater(() -> {
+            if (generation == gameGeneration && aiThinking) {
+                statusLabel.setText(String.format("Player %s is thinking... depth %d, %,d nodes",
+                    aiPlayer.getSymbol(), result.depth(), result.nodes()));
+            }
+        }));
+        pendingAiMove = aiExecutor.submit(() -> {
+            long start = System.nanoTime();
+            int aiCell = aiPlayer.getMoveCell(position);
+            gameStats.recordMoveLatency(System.nanoTime() - start);
+            SwingUtilities.invokeLater(() -> finishAiMove(generation, aiCell));
+        });
+    }
+
+    private void finishAiMove(int generation, int aiCell) {
+        if (generation != gameGeneration) {
+            return;
+        }
+        aiThinking = false;
+        if (aiCell >= 0) {
+            game.makeMove(aiCell);
+        }
+        updateGUI();
+    }
+
+    private void cancelAiMove() {
+        gameGeneration++;
+        aiThinking = false;
+        if (pendingAiMove != null) {
+            // Drops a search that has not started yet; a running one is stopped below
+            pendingAiMove.cancel(false);
+            pendingAiMove = null;
+        }
+        aiPlayer.cancelSearch();
+    }
+
+    private void updateGUI() {
+        boardPanel.refresh();
+        updateStatusLabel();
+    }
+
+    private void updateStatusLabel() {
+        switch (game.getState()) {
+            case IN_PROGRESS:
+                statusLabel.setText("Player " + game.getCurrentPlayer().getSymbol() + "'s turn");
+                break;
+            case WINNER:
+                String winner = "Player " + game.getCurrentPlayer().getSymbol();
+                statusLabel.setText(winner + " wins!");
+                break;
+            case DRAW:
+                statusLabel.setText("Draw!");
+                break;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Reads a file written by GameRecordWriter one game at a time. The current game is held in
+// reused fields, so scanning a file allocates nothing per game.
+// Usage: GameRecordReader <file>   prints a summary of the games in the file
+public final class GameRecordReader implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(GameRecordWriter.BUFFER_BYTES);
+    private boolean endOfFile;
+    // The file offset just past the last complete game read
+    private long position = GameRecordWriter.FILE_HEADER_BYTES;
+    private int size;
+    private int winLength;
+    private int result;
+    private int plies;
+    private int[] cells = new int[0];
+
+    private GameRecordReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    public static GameRecordReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            checkFileHeader(channel, path);
+            channel.position(GameRecordWriter.FILE_HEADER_BYTES);
+            return new GameRecordReader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: GameRecordReader <file>");
+            return;
+        }
+        Path path = Paths.get(args[0]);
+        long games = 0;
+        long plies = 0;
+        GameStats stats = new GameStats();
+        long start = System.nanoTime();
+        try (GameRecordReader reader = open(path)) {
+            while (reader.next()) {
+                games++;
+                plies += reader.getPlies();
+                stats.updateStats(reader.getState(), reader.getWinner());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(stats.getStatsDisplay());
+        System.out.printf("%d games, %.1f plies per game, read in %.2f s (%.0f games/s)%n",
+            games, games == 0 ? 0 : (double) plies / games, seconds, games / seconds);
+    }
+
+    // Moves to the next game; false at the end of the file. A game cut short by a crash
+    // while writing ends the file; a game that cannot have been written is an IOException.
+    public boolean next() throws IOException {
+        if (!fill(GameRecordWriter.GAME_HEADER_BYTES)) {
+            return false;
+        }
+        int gameSize = buffer.get() & 0xFF;
+        int gameWinLength = buffer.get() & 0xFF;
+        int gameResult = buffer.get();
+        int gamePlies = buffer.getShort() & 0xFFFF;
+        if (gameWinLength < 1 || gameWinLength > gameSize || gameSize > GameRecordWriter.MAX_SIZE
+                || gameResult < GameRecordWriter.RESULT_IN_PROGRESS
+                || gameResult > GameRecordWriter.RESULT_DRAW || gamePlies > gameSize * gameSize) {
+            throw new IOException("Corrupt game record at byte " + position);
+        }
+        boolean wideCells = gameSize * gameSize > 256;
+        int cellBytes = gamePlies * (wideCells ? 2 : 1);
+        if (!fill(cellBytes)) {
+            // The rest of the file is the torn game, so every later call ends here too
+            buffer.position(buffer.limit());
+            return false;
+        }
+        if (cells.length < gamePlies) {
+            cells = new int[gameSize * gameSize];
+        }
+        for (int ply = 0; ply < gamePlies; ply++) {
+            cells[ply] = wideCells ? buffer.getShort() & 0xFFFF : buffer.get() & 0xFF;
+            if (cells[ply] >= gameSize * gameSize) {
+                throw new IOException("Corrupt game record at byte " + position);
+            }
+        }
+        position += GameRecordWriter.GAME_HEADER_BYTES + cellBytes;
+        size = gameSize;
+        winLength = gameWinLength;
+        result = gameResult;
+        plies = gamePlies;
+        return true;
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    // The cell played at the given ply, as row * size + col
+    public int getCell(int ply) {
+        if (ply < 0 || ply >= plies) {
+            throw new IndexOutOfBoundsException("No move at ply " + ply);
+        }
+        return cells[ply];
+    }
+
+    public GameState getState() {
+        switch (result) {
+            case GameRecordWriter.RESULT_X_WINS:
+            case GameRecordWriter.RESULT_O_WINS:
+                return GameState.WINNER;
+            case GameRecordWriter.RESULT_DRAW:
+                return GameState.DRAW;
+            default:
+                return GameState.IN_PROGRESS;
+        }
+    }
+
+    // Only meaningful when getState is WINNER
+    public char getWinner() {
+        return result == GameRecordWriter.RESULT_O_WINS ? Symbol.O.getValue() : Symbol.X.getValue();
+    }
+
+    // Clears the board, which must match the game's dimensions, and plays the game on it
+    public void replay(Board board) {
+        if (board.getSize() != size || board.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Game was played on a " + size + "x" + size
+                + " board with " + winLength + " in a row");
+        }
+        board.initializeBoard();
+        for (int ply = 0; ply < plies; ply++) {
+            char symbol = ply % 2 == 0 ? Symbol.X.getValue() : Symbol.O.getValue();
+            board.makeMove(cells[ply] / size, cells[ply] % size, symbol);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Makes at least the given number of bytes available; false if the file ends first
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes && !endOfFile) {
+            endOfFile = channel.read(buffer) < 0;
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    static void checkFileHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(GameRecordWriter.FILE_HEADER_BYTES);
+        int read = 0;
+        while (header.hasRemaining() && read >= 0) {
+            read = channel.read(header, header.position());
+        }
+        header.flip();
+        if (header.remaining() < GameRecordWriter.FILE_HEADER_BYTES
+                || header.getInt() != GameRecordWriter.MAGIC) {
+            throw new IOException(path + " is not a game record file");
+        }
+        if (header.getShort() != GameRecordWriter.VERSION) {
+            throw new IOException(path + " has an unsupported version");
+        }
+    }
+}
\ No newline at end of file
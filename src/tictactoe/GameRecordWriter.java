@@ -0,0 +1,156 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends finished games to a file in a compact binary format, buffering only one block.
+//
+// File layout, big-endian:
+//   int magic, short version
+//   per game: u8 size, u8 winLength, u8 result, u16 plies, then one cell per ply
+// Cells are row * size + col, one byte each on boards of up to 256 cells and two bytes
+// otherwise, so a 3x3 game takes at most 14 bytes. The result is one of the RESULT_
+// constants below. Several threads may write to one writer.
+public final class GameRecordWriter implements Closeable {
+    static final int MAGIC = 0x54545447;  // "TTTG"
+    static final short VERSION = 1;
+    static final int FILE_HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    static final int GAME_HEADER_BYTES = 5;
+    static final int MAX_SIZE = 255;
+    static final int RESULT_IN_PROGRESS = 0;
+    static final int RESULT_X_WINS = 1;
+    static final int RESULT_O_WINS = 2;
+    static final int RESULT_DRAW = 3;
+    // Large enough for one game on the biggest board
+    static final int BUFFER_BYTES = 1 << 18;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long gamesWritten;
+    private boolean flushEveryGame;
+
+    private GameRecordWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    // Appends to the file, creating it if needed. A game cut short at the end of the file by
+    // a crash while writing is cut off, so new games start on a record boundary.
+    public static GameRecordWriter open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            GameRecordWriter writer = new GameRecordWriter(channel);
+            if (channel.size() == 0) {
+                writer.buffer.putInt(MAGIC).putShort(VERSION);
+            } else {
+                long end;
+                try (GameRecordReader reader = GameRecordReader.open(path)) {
+                    while (reader.next()) {
+                        // Skip to the end of the last complete game
+                    }
+                    end = reader.getPosition();
+                }
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                }
+                channel.position(end);
+            }
+            return writer;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void write(Game game) throws IOException {
+        Board board = game.getBoard();
+        int plies = game.getMoveCount();
+        writeGameHeader(board.getSize(), board.getWinLength(),
+            resultOf(game.getState(), game.getWinner()), plies);
+        boolean wideCells = board.getSize() * board.getSize() > 256;
+        for (int ply = 0; ply < plies; ply++) {
+            putCell(game.getMoveAt(ply), wideCells);
+        }
+        gameWritten();
+    }
+
+    public synchronized void write(int size, int winLength, GameState state, char winner,
+                                   int[] cells, int plies) throws IOException {
+        writeGameHeader(size, winLength, resultOf(state, winner), plies);
+        boolean wideCells = size * size > 256;
+        for (int ply = 0; ply < plies; ply++) {
+            putCell(cells[ply], wideCells);
+        }
+        gameWritten();
+    }
+
+    // Writes every game to the file as soon as it is complete instead of a block at a time,
+    // so a process that is killed loses no finished games
+    public synchronized void setFlushEveryGame(boolean flushEveryGame) {
+        this.flushEveryGame = flushEveryGame;
+    }
+
+    private void gameWritten() throws IOException {
+        gamesWritten++;
+        if (flushEveryGame) {
+            flush();
+        }
+    }
+
+    public synchronized long getGamesWritten() {
+        return gamesWritten;
+    }
+
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeGameHeader(int size, int winLength, int result, int plies)
+            throws IOException {
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Game records support boards up to "
+                + MAX_SIZE + "x" + MAX_SIZE);
+        }
+        int recordBytes = GAME_HEADER_BYTES + plies * (size * size > 256 ? 2 : 1);
+        if (buffer.remaining() < recordBytes) {
+            flush();
+        }
+        buffer.put((byte) size).put((byte) winLength).put((byte) result).putShort((short) plies);
+    }
+
+    private void putCell(int cell, boolean wideCells) {
+        if (wideCells) {
+            buffer.putShort((short) cell);
+        } else {
+            buffer.put((byte) cell);
+        }
+    }
+
+    static int resultOf(GameState state, char winner) {
+        switch (state) {
+            case WINNER:
+                return winner == Symbol.X.getValue() ? RESULT_X_WINS : RESULT_O_WINS;
+            case DRAW:
+                return RESULT_DRAW;
+            default:
+                return RESULT_IN_PROGRESS;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,310 @@
+package tictactoe;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hosts many games over a line-based TCP protocol. The client always plays X.
+//   NEW <size> <winLength> <difficulty>  ->  OK <gameId>
+//   MOVE <gameId> <row> <col>            ->  OK <state>
+//   AI <gameId>                          ->  OK <row> <col> <state>
+//   STATE <gameId>                       ->  OK <state> <cells, row by row>
+//   END <gameId>                         ->  OK
+//   QUIT
+// Errors are answered with ERR <reason>. Games belong to their connection and end with it.
+// Boards are at most MAX_SIZE wide and a connection has at most MAX_GAMES_PER_CONNECTION
+// games open, so no client can make the server allocate more than a bounded amount.
+// Usage: GameServer [--port 7777] [--compute-threads N] [--queue 1024] [--time-ms 1000]
+//                   [--book book.bin] [--solved solved.bin] [--record games.bin]
+// With --record every game that ends is appended to that file, see GameRecordWriter.
+public class GameServer {
+    public static final int DEFAULT_PORT = 7777;
+    static final int MAX_SIZE = 19;
+    static final int MAX_GAMES_PER_CONNECTION = 64;
+
+    private final int port;
+    private final ThreadPoolExecutor computePool;
+    private final ExecutorService connectionExecutor;
+    // Engines keep no per-game state, so one instance per difficulty serves every session
+    private final Map<Difficulty, AIPlayer> engines = new EnumMap<>(Difficulty.class);
+    private final HumanPlayer client = new HumanPlayer(Symbol.X);
+    private final AtomicLong nextGameId = new AtomicLong(1);
+    private volatile ServerSocket serverSocket;
+    private volatile GameRecordWriter recorder;
+
+    public GameServer(int port, int computeThreads, int queueCapacity, SearchLimits limits) {
+        this.port = port;
+        // A fixed number of search threads and a bounded queue: bursts are refused, not stacked
+        computePool = new ThreadPoolExecutor(computeThreads, computeThreads, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+        connectionExecutor = newConnectionExecutor();
+        for (Difficulty difficulty : Difficulty.values()) {
+            engines.put(difficulty, new AIPlayer(Symbol.O, difficulty, limits));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int computeThreads = Runtime.getRuntime().availableProcessors();
+        int queueCapacity = 1024;
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        String bookPath = null;
+        String solvedPath = null;
+        String recordPath = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(args[i + 1]); break;
+                case "--compute-threads": computeThreads = Integer.parseInt(args[i + 1]); break;
+                case "--queue": queueCapacity = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                case "--book": bookPath = args[i + 1]; break;
+                case "--solved": solvedPath = args[i + 1]; break;
+                case "--record": recordPath = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        SearchStats.registerMBean();
+        GameServer server = new GameServer(port, computeThreads, queueCapacity, limits);
+        if (bookPath != null) {
+            server.setOpeningBook(OpeningBook.open(Paths.get(bookPath)));
+        }
+        if (solvedPath != null) {
+            server.setSolvedPositions(RetrogradeSolver.open(Paths.get(solvedPath)));
+        }
+        if (recordPath != null) {
+            server.setRecorder(GameRecordWriter.open(Paths.get(recordPath)));
+        }
+        System.out.println("Listening on port " + port + " with " + computeThreads
+            + " compute threads");
+        server.serve();
+    }
+
+    public void setOpeningBook(OpeningBook book) {
+        for (AIPlayer engine : engines.values()) {
+            engine.setOpeningBook(book);
+        }
+    }
+
+    // Written by RetrogradeSolver --out; positions it covers are answered exactly
+    public void setSolvedPositions(RetrogradeSolver solved) {
+        for (AIPlayer engine : engines.values()) {
+            engine.setSolvedPositions(solved);
+        }
+    }
+
+    // Finished games are written here and the writer is closed when the server stops. Each
+    // game reaches the file as it ends, so a killed server loses none.
+    public void setRecorder(GameRecordWriter recorder) {
+        if (recorder != null) {
+            recorder.setFlushEveryGame(true);
+        }
+        this.recorder = recorder;
+    }
+
+    public void serve() throws IOException {
+        try (ServerSocket socket = new ServerSocket(port)) {
+            serverSocket = socket;
+            while (!socket.isClosed()) {
+                Socket connection;
+                try {
+                    connection = socket.accept();
+                } catch (IOException e) {
+                    if (socket.isClosed()) {
+                        break;
+                    }
+                    throw e;
+                }
+                connectionExecutor.execute(() -> handle(connection));
+            }
+        } finally {
+            connectionExecutor.shutdownNow();
+            computePool.shutdownNow();
+            if (recorder != null) {
+                recorder.close();
+            }
+        }
+    }
+
+    public void stop() throws IOException {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    private void handle(Socket connection) {
+        Map<Long, Game> games = new HashMap<>();
+        try (Socket socket = connection;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(
+                 socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equalsIgnoreCase("QUIT")) {
+                    break;
+                }
+                String reply;
+                try {
+                    reply = execute(parts, games);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    reply = "ERR " + e.getMessage();
+                }
+                out.println(reply);
+            }
+        } catch (IOException e) {
+            // The client went away; its games go with it
+        }
+    }
+
+    private String execute(String[] parts, Map<Long, Game> games) {
+        switch (parts[0].toUpperCase(Locale.ROOT)) {
+            case "NEW": {
+                requireArguments(parts, 4);
+                int size = Integer.parseInt(parts[1]);
+                int winLength = Integer.parseInt(parts[2]);
+                if (size < 1 || size > MAX_SIZE) {
+                    throw new IllegalArgumentException("size must be 1 to " + MAX_SIZE);
+                }
+                if (winLength < 1 || winLength > size) {
+                    throw new IllegalArgumentException("win length must be 1 to " + size);
+                }
+                if (games.size() >= MAX_GAMES_PER_CONNECTION) {
+                    throw new IllegalStateException(
+                        "too many games, END one of the " + games.size() + " open");
+                }
+                Difficulty difficulty = Difficulty.valueOf(parts[3].toUpperCase(Locale.ROOT));
+                Game game = new Game(client, engines.get(difficulty), size, winLength);
+                long id = nextGameId.getAndIncrement();
+                games.put(id, game);
+                return "OK " + id;
+            }
+            case "MOVE": {
+                requireArguments(parts, 4);
+                Game game = findGame(parts[1], games);
+                if (game.getState() != GameState.IN_PROGRESS || game.getCurrentPlayer() != client) {
+                    throw new IllegalStateException("not your turn");
+                }
+                int row = Integer.parseInt(parts[2]);
+                int col = Integer.parseInt(parts[3]);
+                if (!game.getBoard().isValidMove(row, col)) {
+                    throw new IllegalArgumentException("invalid move");
+                }
+                game.makeMove(row, col);
+                recordIfOver(game);
+                return "OK " + game.getState();
+            }
+            case "AI": {
+                requireArguments(parts, 2);
+                Game game = findGame(parts[1], games);
+                if (game.getState() != GameState.IN_PROGRESS || game.getCurrentPlayer() == client) {
+                    throw new IllegalStateException("not the AI's turn");
+                }
+                Move move = computeMove(game);
+                game.makeMove(move.row(), move.col());
+                recordIfOver(game);
+                return "OK " + move.row() + " " + move.col() + " " + game.getState();
+            }
+            case "STATE": {
+                requireArguments(parts, 2);
+                Game game = findGame(parts[1], games);
+                return "OK " + game.getState() + " " + cells(game.getBoard());
+            }
+            case "END": {
+                requireArguments(parts, 2);
+                findGame(parts[1], games);
+                games.remove(Long.parseLong(parts[1]));
+                return "OK";
+            }
+            default:
+                throw new IllegalArgumentException("unknown command " + parts[0]);
+        }
+    }
+
+    private Move computeMove(Game game) {
+        Player engine = game.getCurrentPlayer();
+        Board position = game.getBoard();
+        Future<Move> move;
+        try {
+            move = computePool.submit(() -> engine.getMove(position));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("busy");
+        }
+        try {
+            return move.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            move.cancel(true);
+            throw new IllegalStateException("interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("search failed");
+        }
+    }
+
+    private void recordIfOver(Game game) {
+        GameRecordWriter writer = recorder;
+        if (writer == null || game.getState() == GameState.IN_PROGRESS) {
+            return;
+        }
+        try {
+            writer.write(game);
+        } catch (IOException e) {
+            // Losing the archive must not take down games in progress
+            System.err.println("Could not record game: " + e.getMessage());
+        }
+    }
+
+    private static Game findGame(String id, Map<Long, Game> games) {
+        Game game = games.get(Long.parseLong(id));
+        if (game == null) {
+            throw new IllegalArgumentException("unknown game " + id);
+        }
+        return game;
+    }
+
+    private static void requireArguments(String[] parts, int count) {
+        if (parts.length != count) {
+            throw new IllegalArgumentException(parts[0] + " expects " + (count - 1) + " arguments");
+        }
+    }
+
+    private static String cells(Board board) {
+        StringBuilder builder = new StringBuilder(board.getSize() * board.getSize());
+        for (char[] row : board.getGrid()) {
+            builder.append(row);
+        }
+        return builder.toString();
+    }
+
+    // One virtual thread per connection where the runtime has them (Java 21+); the build
+    // targets Java 17, so older runtimes fall back to a cached pool of platform threads
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package tictactoe;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Opens many connections to a GameServer, plays random moves against its AI and reports
+// throughput and AI reply latency.
+// Usage: GameServerLoadClient [--host localhost] [--port 7777] [--connections 100]
+//                             [--games 10] [--size 3] [--win 3] [--difficulty hard]
+public class GameServerLoadClient {
+    // Waits between retries of a refused AI request, doubling up to the maximum
+    private static final long FIRST_BACKOFF_MILLIS = 1;
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = GameServer.DEFAULT_PORT;
+        int connections = 100;
+        int games = 10;
+        int size = Board.DEFAULT_SIZE;
+        int winLength = -1;
+        String difficulty = "hard";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host": host = args[i + 1]; break;
+                case "--port": port = Integer.parseInt(args[i + 1]); break;
+                case "--connections": connections = Integer.parseInt(args[i + 1]); break;
+                case "--games": games = Integer.parseInt(args[i + 1]); break;
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--difficulty": difficulty = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        String newGame = "NEW " + size + " " + (winLength > 0 ? winLength : size) + " " + difficulty;
+
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            String serverHost = host;
+            int serverPort = port;
+            int gamesPerClient = games;
+            long seed = i;
+            clients.add(executor.submit(() ->
+                playGames(serverHost, serverPort, newGame, gamesPerClient, new Random(seed))));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        long busy = 0;
+        for (Future<long[]> client : clients) {
+            long[] result = client.get();
+            busy += result[0];
+            for (int i = 1; i < result.length; i++) {
+                latencies.add(result[i]);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("%d connections, %d games, %.2f s, %.0f games/s, %d busy replies%n",
+            connections, connections * games, seconds, connections * games / seconds, busy);
+        if (sorted.length > 0) {
+            System.out.printf("AI reply latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                sorted[sorted.length / 2] / 1e6,
+                sorted[(int) (sorted.length * 0.99)] / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    // Returns the number of refused AI requests followed by every AI reply latency in nanoseconds
+    private static long[] playGames(String host, int port, String newGame, int games, Random random)
+            throws IOException, InterruptedException {
+        List<Long> latencies = new ArrayList<>();
+        long busy = 0;
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(
+                 socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            for (int g = 0; g < games; g++) {
+                String id = request(in, out, newGame)[1];
+                String state = GameState.IN_PROGRESS.name();
+                while (state.equals(GameState.IN_PROGRESS.name())) {
+                    String cells = request(in, out, "STATE " + id)[2];
+                    int size = (int) Math.round(Math.sqrt(cells.length()));
+                    int cell;
+                    do {
+                        cell = random.nextInt(cells.length());
+                    } while (cells.charAt(cell) != Symbol.EMPTY.getValue());
+                    state = request(in, out, "MOVE " + id + " " + cell / size + " " + cell % size)[1];
+
+                    long backoff = FIRST_BACKOFF_MILLIS;
+                    while (state.equals(GameState.IN_PROGRESS.name())) {
+                        long start = System.nanoTime();
+                        out.println("AI " + id);
+                        String line = readReply(in, "AI " + id);
+                        String[] reply = line.split(" ");
+                        if (reply[0].equals("OK")) {
+                            latencies.add(System.nanoTime() - start);
+                            state = reply[3];
+                            break;
+                        }
+                        // The server only refuses for lack of search threads; anything else
+                        // would fail again however often it is retried
+                        if (!line.equals("ERR busy")) {
+                            throw new IOException("AI " + id + " failed: " + line);
+                        }
+                        busy++;
+                        Thread.sleep(backoff);
+                        backoff = Math.min(2 * backoff, MAX_BACKOFF_MILLIS);
+                    }
+                }
+                request(in, out, "END " + id);
+            }
+            out.println("QUIT");
+        }
+
+        long[] result = new long[latencies.size() + 1];
+        result[0] = busy;
+        for (int i = 0; i < latencies.size(); i++) {
+            result[i + 1] = latencies.get(i);
+        }
+        return result;
+    }
+
+    private static String[] request(BufferedReader in, PrintWriter out, String command)
+            throws IOException {
+        out.println(command);
+        String[] reply = readReply(in, command).split(" ");
+        if (!reply[0].equals("OK")) {
+            throw new IOException(command + " failed: " + String.join(" ", reply));
+        }
+        return reply;
+    }
+
+    private static String readReply(BufferedReader in, String command) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            throw new IOException(command + " failed: connection closed");
+        }
+        return line;
+    }
+}
\ No newline at end of file
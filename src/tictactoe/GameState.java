@@ -1,3 +1,5 @@
+package tictactoe;
+
 enum GameState {
     IN_PROGRESS, WINNER, DRAW
 }
\ No newline at end of file
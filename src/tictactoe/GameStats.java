@@ -0,0 +1,275 @@
+package tictactoe;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+// Game outcomes per AI difficulty, plus histograms of AI move latency and game length.
+// Any number of threads may record at once; every update is a LongAdder increment.
+//
+// appendTo writes what was recorded since the previous append as one record at the end of
+// a file, and load sums every record in it. Several processes can append to the same file,
+// which then holds their combined counts.
+public class GameStats {
+    private static final int RECORD_MAGIC = 0x54545453;  // "TTTS"
+    private static final int X_WINS = 0;
+    private static final int O_WINS = 1;
+    private static final int DRAWS = 2;
+    private static final int OUTCOMES = 3;
+    // Games without an AIPlayer are counted in the slot after the last difficulty
+    private static final int SLOTS = Difficulty.values().length + 1;
+
+    private final LongAdder[] outcomes = new LongAdder[SLOTS * OUTCOMES];
+    private final Histogram moveLatencyNanos = new Histogram();
+    private final Histogram gameLength = new Histogram();
+    // Counts already written by appendTo, guarded by this
+    private long[] appendedOutcomes = new long[SLOTS * OUTCOMES];
+    private long[] appendedLatencies = new long[Histogram.BUCKET_COUNT];
+    private long[] appendedLengths = new long[Histogram.BUCKET_COUNT];
+
+    public GameStats() {
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    public void updateStats(GameState state, char winner) {
+        recordOutcome(SLOTS - 1, state, winner);
+    }
+
+    // difficulty is that of the AI in the game, or null if no AIPlayer took part
+    public void updateStats(Difficulty difficulty, GameState state, char winner, int moves) {
+        recordOutcome(difficulty == null ? SLOTS - 1 : difficulty.ordinal(), state, winner);
+        gameLength.record(moves);
+    }
+
+    public void recordMoveLatency(long nanos) {
+        moveLatencyNanos.record(nanos);
+    }
+
+    private void recordOutcome(int slot, GameState state, char winner) {
+        if (state == GameState.WINNER) {
+            int outcome = winner == Symbol.X.getValue() ? X_WINS : O_WINS;
+            outcomes[slot * OUTCOMES + outcome].increment();
+        } else if (state == GameState.DRAW) {
+            outcomes[slot * OUTCOMES + DRAWS].increment();
+        }
+    }
+
+    public void merge(GameStats other) {
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i].add(other.outcomes[i].sum());
+        }
+        moveLatencyNanos.add(other.moveLatencyNanos);
+        gameLength.add(other.gameLength);
+    }
+
+    public long getGamesPlayed() {
+        long games = 0;
+        for (LongAdder count : outcomes) {
+            games += count.sum();
+        }
+        return games;
+    }
+
+    public long getWins(char symbol) {
+        return sumOutcome(symbol == Symbol.X.getValue() ? X_WINS : O_WINS);
+    }
+
+    public long getDraws() {
+        return sumOutcome(DRAWS);
+    }
+
+    private long sumOutcome(int outcome) {
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            total += outcomes[slot * OUTCOMES + outcome].sum();
+        }
+        return total;
+    }
+
+    Histogram getMoveLatencyNanos() {
+        return moveLatencyNanos;
+    }
+
+    Histogram getGameLength() {
+        return gameLength;
+    }
+
+    public String getStatsDisplay() {
+        long[] totals = new long[OUTCOMES];
+        for (int i = 0; i < outcomes.length; i++) {
+            totals[i % OUTCOMES] += outcomes[i].sum();
+        }
+        return format(totals[X_WINS], totals[O_WINS], totals[DRAWS]);
+    }
+
+    public String getStatsDisplay(Difficulty difficulty) {
+        int base = difficulty.ordinal() * OUTCOMES;
+        return format(outcomes[base + X_WINS].sum(), outcomes[base + O_WINS].sum(),
+            outcomes[base + DRAWS].sum());
+    }
+
+    private static String format(long playerWins, long aiWins, long draws) {
+        return String.format("Games: %d | Player X: %d | Player O: %d | Draws: %d",
+            playerWins + aiWins + draws, playerWins, aiWins, draws);
+    }
+
+    public String getLatencyDisplay() {
+        return String.format("AI move latency p50 %.1f us | p99 %.1f us | max %.1f us"
+            + " | Game length mean %.1f moves",
+            moveLatencyNanos.getValueAtPercentile(50) / 1e3,
+            moveLatencyNanos.getValueAtPercentile(99) / 1e3,
+            moveLatencyNanos.getValueAtPercentile(100) / 1e3,
+            gameLength.getMean());
+    }
+
+    // Appends everything recorded since the last call. The file is locked while writing, so
+    // processes sharing it never interleave their records. A record cut short by a crash is
+    // cut off first, so the new one does not land behind it.
+    public synchronized void appendTo(Path path) throws IOException {
+        long[] outcomeCounts = new long[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomeCounts[i] = outcomes[i].sum();
+        }
+        long[] latencies = moveLatencyNanos.snapshot();
+        long[] lengths = gameLength.snapshot();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SLOTS * OUTCOMES);
+        for (int i = 0; i < outcomeCounts.length; i++) {
+            out.writeLong(outcomeCounts[i] - appendedOutcomes[i]);
+        }
+        writeDelta(out, latencies, appendedLatencies);
+        writeDelta(out, lengths, appendedLengths);
+
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + bytes.size());
+        record.putInt(RECORD_MAGIC).putInt(bytes.size()).put(bytes.toByteArray()).flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            FileLock lock = channel.lock();
+            try {
+                long end = completeLength(channel, path);
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                }
+                channel.position(end);
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+        appendedOutcomes = outcomeCounts;
+        appendedLatencies = latencies;
+        appendedLengths = lengths;
+    }
+
+    // The length of the file up to the end of its last complete record
+    private static long completeLength(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+        long size = channel.size();
+        long end = 0;
+        while (end + header.capacity() <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, end + header.position()) < 0) {
+                    return end;
+                }
+            }
+            if (header.getInt(0) != RECORD_MAGIC) {
+                throw new IOException(path + " is not a stats file");
+            }
+            int length = header.getInt(Integer.BYTES);
+            if (length < 0 || end + header.capacity() + length > size) {
+                break;
+            }
+            end += header.capacity() + length;
+        }
+        return end;
+    }
+
+    // Only non-empty buckets are written, as (bucket, count) pairs
+    private static void writeDelta(DataOutputStream out, long[] counts, long[] appended)
+            throws IOException {
+        int changed = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != appended[i]) {
+                changed++;
+            }
+        }
+        out.writeInt(changed);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != appended[i]) {
+                out.writeShort(i);
+                out.writeLong(counts[i] - appended[i]);
+            }
+        }
+    }
+
+    // Sums every record in the file; a missing file gives empty stats. A record cut short by
+    // a crash during appendTo is ignored.
+    public static GameStats load(Path path) throws IOException {
+        GameStats stats = new GameStats();
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                byte[] record;
+                try {
+                    if (in.readInt() != RECORD_MAGIC) {
+                        throw new IOException(path + " is not a stats file");
+                    }
+                    record = new byte[in.readInt()];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                stats.addRecord(ByteBuffer.wrap(record));
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing has been saved yet
+        }
+        // Loaded counts are already in the file
+        stats.appendedOutcomes = new long[stats.outcomes.length];
+        for (int i = 0; i < stats.outcomes.length; i++) {
+            stats.appendedOutcomes[i] = stats.outcomes[i].sum();
+        }
+        stats.appendedLatencies = stats.moveLatencyNanos.snapshot();
+        stats.appendedLengths = stats.gameLength.snapshot();
+        return stats;
+    }
+
+    private void addRecord(ByteBuffer record) {
+        int outcomeCount = record.getInt();
+        for (int i = 0; i < outcomeCount; i++) {
+            long count = record.getLong();
+            // Files written with a different set of difficulties keep what still lines up
+            if (i < outcomes.length) {
+                outcomes[i].add(count);
+            }
+        }
+        readDelta(record, moveLatencyNanos);
+        readDelta(record, gameLength);
+    }
+
+    private static void readDelta(ByteBuffer record, Histogram histogram) {
+        int changed = record.getInt();
+        for (int i = 0; i < changed; i++) {
+            histogram.add(record.getShort(), record.getLong());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package tictactoe;
+
+// A search for the best move that can be stopped from another thread
+interface GameTreeSearch {
+    SearchResult search(char mover);
+
+    // Stops the search soon; search then returns the deepest completed result
+    void cancel();
+
+    void setListener(SearchListener listener);
+
+    // Alpha-beta cutoffs so far in the current or last search
+    long getCutoffs();
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts non-negative values in log-linear buckets, in the style of HdrHistogram: values
+// below 32 are exact, larger ones land in one of 32 buckets per power of two, so any
+// reported value is within about 3% of the recorded one. Recording is a single LongAdder
+// increment, which stays cheap when many threads record at once.
+final class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKET_COUNT];
+
+    Histogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        counts[bucketOf(Math.max(0, value))].increment();
+    }
+
+    void add(int bucket, long count) {
+        counts[bucket].add(count);
+    }
+
+    void add(Histogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            long count = other.counts[i].sum();
+            if (count != 0) {
+                counts[i].add(count);
+            }
+        }
+    }
+
+    long[] snapshot() {
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    long getTotalCount() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            long count = counts[i].sum();
+            total += count;
+            sum += (double) count * midpointOf(i);
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+
+    // The top of the bucket holding the given percentile, so never below the true value
+    long getValueAtPercentile(double percentile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return highestValueOf(i);
+            }
+        }
+        return highestValueOf(snapshot.length - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        return lowestValueOf(bucket) + (1L << shift) - 1;
+    }
+
+    private static double midpointOf(int bucket) {
+        return (lowestValueOf(bucket) + (double) highestValueOf(bucket)) / 2;
+    }
+}
\ No newline at end of file
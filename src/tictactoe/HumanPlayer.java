@@ -1,3 +1,5 @@
+package tictactoe;
+
 public class HumanPlayer extends Player {
     public HumanPlayer(Symbol symbol) {
         super(symbol);
@@ -0,0 +1,152 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Static evaluation for depth-limited search, kept up to date move by move.
+//
+// Every run of winLength cells in a row, column or diagonal is a line, and the evaluator
+// counts the X and O stones in each. A line holding stones of both sides is blocked and
+// worth nothing; a line holding only one side's stones is worth more to that side with
+// every stone in it, so open twos and threes add up, and more so where several lines cross.
+// Lines one stone short of a win are threats, counted per side. A move touches only the
+// lines through its cell, and evaluate reads running totals, so neither depends on the
+// size of the board.
+final class LineEvaluator {
+    // Far below any forced-win score, so a heuristic never looks like a proven result
+    static final int MAX_SCORE = MinimaxSearch.WIN_SCORE / 10;
+    // Two threats the mover cannot both block usually lose the game
+    private static final int DOUBLE_THREAT_SCORE = MAX_SCORE / 2;
+    // Keeps the sum over every line of the largest boards within an int
+    private static final int MAX_WEIGHT_SHIFT = 12;
+    private static final Map<Long, int[][]> LINES_THROUGH_CELL = new ConcurrentHashMap<>();
+
+    // A line's state is xStones * (winLength + 1) + oStones; these give what each state adds
+    // to the score and to either side's threat count, so a move needs no branches per line
+    private final int xStep;
+    private final int[] stateScores;
+    private final int[] xThreatStates;
+    private final int[] oThreatStates;
+    // linesThroughCell[cell] lists the lines containing that cell
+    private final int[][] linesThroughCell;
+    private final int[] states;
+    // Sum of the line values, positive when X stands better
+    private int score;
+    private int xThreats;
+    private int oThreats;
+
+    LineEvaluator(Board board) {
+        int size = board.getSize();
+        int winLength = board.getWinLength();
+        long shape = (long) size << 32 | winLength;
+        linesThroughCell = LINES_THROUGH_CELL.computeIfAbsent(shape,
+            key -> createLines(size, winLength));
+        int lineCount = 0;
+        for (int[] lines : linesThroughCell) {
+            for (int line : lines) {
+                lineCount = Math.max(lineCount, line + 1);
+            }
+        }
+        states = new int[lineCount];
+        xStep = winLength + 1;
+        stateScores = new int[xStep * xStep];
+        xThreatStates = new int[xStep * xStep];
+        oThreatStates = new int[xStep * xStep];
+        for (int stones = 1; stones <= winLength; stones++) {
+            // Each extra stone in an open line is worth eight times as much; blocked lines,
+            // with stones of both sides, are worth nothing
+            int weight = 1 << Math.min(3 * (stones - 1), MAX_WEIGHT_SHIFT);
+            int threat = stones == winLength - 1 ? 1 : 0;
+            stateScores[stones * xStep] = weight;
+            stateScores[stones] = -weight;
+            xThreatStates[stones * xStep] = threat;
+            oThreatStates[stones] = threat;
+        }
+        reset(board);
+    }
+
+    // Recounts every line from scratch, for when the board was changed without this evaluator
+    void reset(Board board) {
+        Arrays.fill(states, 0);
+        score = 0;
+        xThreats = 0;
+        oThreats = 0;
+        char[][] grid = board.getGrid();
+        int size = board.getSize();
+        for (int cell = 0; cell < size * size; cell++) {
+            char value = grid[cell / size][cell % size];
+            if (value != Symbol.EMPTY.getValue()) {
+                makeMove(cell, value);
+            }
+        }
+    }
+
+    void makeMove(int cell, char symbol) {
+        update(cell, symbol == Symbol.X.getValue() ? xStep : 1);
+    }
+
+    void undoMove(int cell, char symbol) {
+        update(cell, symbol == Symbol.X.getValue() ? -xStep : -1);
+    }
+
+    private void update(int cell, int step) {
+        for (int line : linesThroughCell[cell]) {
+            int before = states[line];
+            int after = before + step;
+            states[line] = after;
+            score += stateScores[after] - stateScores[before];
+            xThreats += xThreatStates[after] - xThreatStates[before];
+            oThreats += oThreatStates[after] - oThreatStates[before];
+        }
+    }
+
+    // The score for the side to move at the given ply. A threat of the mover's own is a win
+    // on its next move; two of the opponent's are a likely loss, since only one can be
+    // blocked unless both lines end in the same cell.
+    int evaluate(char mover, int ply) {
+        boolean x = mover == Symbol.X.getValue();
+        if ((x ? xThreats : oThreats) > 0) {
+            return MinimaxSearch.WIN_SCORE - (ply + 1);
+        }
+        int value = x ? score : -score;
+        if ((x ? oThreats : xThreats) >= 2) {
+            value -= DOUBLE_THREAT_SCORE;
+        }
+        return Math.max(-MAX_SCORE, Math.min(MAX_SCORE, value));
+    }
+
+    private static int[][] createLines(int size, int winLength) {
+        int[][] directions = winLength == 1 ? new int[][] {{0, 1}}
+            : new int[][] {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        List<List<Integer>> through = new ArrayList<>(size * size);
+        for (int cell = 0; cell < size * size; cell++) {
+            through.add(new ArrayList<>());
+        }
+        int line = 0;
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) {
+                        continue;
+                    }
+                    for (int k = 0; k < winLength; k++) {
+                        int r = row + direction[0] * k;
+                        int c = col + direction[1] * k;
+                        through.get(r * size + c).add(line);
+                    }
+                    line++;
+                }
+            }
+        }
+        int[][] result = new int[size * size][];
+        for (int cell = 0; cell < result.length; cell++) {
+            result[cell] = through.get(cell).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Monte Carlo Tree Search with UCT selection. With a pool, every pool thread grows its own
+// tree from the same position (root parallelisation) and the root visit counts are summed.
+public class MctsPlayer extends Player {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int ITERATIONS_BETWEEN_CLOCK_CHECKS = 64;
+
+    private final SearchLimits limits;
+    private final ForkJoinPool pool;
+    private final Tree[] trees;
+
+    public MctsPlayer(Symbol symbol, SearchLimits limits) {
+        this(symbol, limits, null);
+    }
+
+    // The node budget of the limits is the total number of playouts per move
+    public MctsPlayer(Symbol symbol, SearchLimits limits, ForkJoinPool pool) {
+        this(symbol, limits, pool, System.nanoTime());
+    }
+
+    // The same seed gives the same playouts, as far as the time limit allows
+    public MctsPlayer(Symbol symbol, SearchLimits limits, ForkJoinPool pool, long seed) {
+        super(symbol);
+        this.limits = limits;
+        this.pool = pool;
+        trees = new Tree[pool != null ? pool.getParallelism() : 1];
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = new Tree(seed + i * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    @Override
+    public Move getMove(Board board) {
+        int cell = getMoveCell(board);
+        return cell < 0 ? null : new Move(cell / board.getSize(), cell % board.getSize());
+    }
+
+    @Override
+    public int getMoveCell(Board board) {
+        if (board.hasWinner() || board.isFull()) {
+            return -1;
+        }
+
+        long deadline = System.nanoTime() + limits.timeMillis() * 1_000_000L;
+        long iterationsPerTree = Math.max(1, limits.maxNodes() / trees.length);
+        if (pool == null) {
+            trees[0].search(board, symbol.getValue(), iterationsPerTree, deadline);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(trees.length);
+            for (Tree tree : trees) {
+                tasks.add(pool.submit(() -> tree.search(board, symbol.getValue(), iterationsPerTree, deadline)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        int cells = board.getSize() * board.getSize();
+        long[] visits = new long[cells];
+        for (Tree tree : trees) {
+            tree.addRootVisits(visits);
+        }
+        int bestCell = -1;
+        for (int cell = 0; cell < cells; cell++) {
+            if (board.isValidMove(cell / board.getSize(), cell % board.getSize()) &&
+                (bestCell < 0 || visits[cell] > visits[bestCell])) {
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+
+    private static final class Tree {
+        // Nodes are stored as parallel arrays; children form a singly linked sibling list
+        private int[] moveCell = new int[INITIAL_CAPACITY];
+        private int[] firstChild = new int[INITIAL_CAPACITY];
+        private int[] nextSibling = new int[INITIAL_CAPACITY];
+        private int[] nextUntried = new int[INITIAL_CAPACITY];
+        private int[] visits = new int[INITIAL_CAPACITY];
+        private double[] reward = new double[INITIAL_CAPACITY];
+        private int nodeCount;
+
+        private Board scratch;
+        private int[] path = new int[0];
+        private int[] emptyCells = new int[0];
+        private long randomState;
+
+        Tree(long seed) {
+            randomState = seed == 0 ? 1 : seed;
+        }
+
+        void search(Board root, char rootMover, long iterations, long deadline) {
+            prepare(root);
+            for (long i = 0; i < iterations; i++) {
+                if (i % ITERATIONS_BETWEEN_CLOCK_CHECKS == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                iterate(root, rootMover);
+            }
+        }
+
+        void addRootVisits(long[] total) {
+            for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+                total[moveCell[child]] += visits[child];
+            }
+        }
+
+        private void prepare(Board root) {
+            int cells = root.getSize() * root.getSize();
+            if (scratch == null || scratch.getSize() != root.getSize() ||
+                scratch.getWinLength() != root.getWinLength()) {
+                scratch = new Board(root.getSize(), root.getWinLength());
+                path = new int[cells + 1];
+                emptyCells = new int[cells];
+            }
+            nodeCount = 0;
+            newNode(-1);
+        }
+
+        private void iterate(Board root, char rootMover) {
+            Board board = scratch;
+            board.copyFrom(root);
+            int size = board.getSize();
+            char mover = rootMover;
+            int node = 0;
+            int depth = 0;
+            path[depth++] = node;
+
+            // Selection and expansion of one new node
+            while (!board.hasWinner() && !board.isFull()) {
+                int untried = findUntried(board, node);
+                int child;
+                if (untried >= 0) {
+                    child = newNode(untried);
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                } else {
+                    child = selectChild(node);
+                }
+                board.makeMove(moveCell[child] / size, moveCell[child] % size, mover);
+                mover = MinimaxSearch.opponentOf(mover);
+                node = child;
+                path[depth++] = node;
+                if (untried >= 0) {
+                    break;
+                }
+            }
+
+            char winner = board.hasWinner() ? board.getWinner() : playout(board, mover);
+
+            // Each node is scored for the player who made the move leading to it
+            char moverOfNode = MinimaxSearch.opponentOf(rootMover);
+            for (int i = 0; i < depth; i++) {
+                int n = path[i];
+                visits[n]++;
+                if (winner == moverOfNode) {
+                    reward[n] += 1.0;
+                } else if (winner == Symbol.EMPTY.getValue()) {
+                    reward[n] += 0.5;
+                }
+                moverOfNode = MinimaxSearch.opponentOf(moverOfNode);
+            }
+        }
+
+        private int findUntried(Board board, int node) {
+            int size = board.getSize();
+            char[][] grid = board.getGrid();
+            int cell = nextUntried[node];
+            while (cell < size * size && grid[cell / size][cell % size] != Symbol.EMPTY.getValue()) {
+                cell++;
+            }
+            if (cell == size * size) {
+                nextUntried[node] = cell;
+                return -1;
+            }
+            nextUntried[node] = cell + 1;
+            return cell;
+        }
+
+        private int selectChild(int node) {
+            double logVisits = Math.log(visits[node]);
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                double value = reward[child] / visits[child] +
+                    EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        // Plays uniformly random moves to the end and returns the winner, or EMPTY for a draw
+        private char playout(Board board, char mover) {
+            int size = board.getSize();
+            int count = board.getLegalMoves(emptyCells);
+            while (count > 0 && !board.hasWinner()) {
+                int index = nextInt(count);
+                int cell = emptyCells[index];
+                emptyCells[index] = emptyCells[--count];
+                board.makeMove(cell / size, cell % size, mover);
+                mover = MinimaxSearch.opponentOf(mover);
+            }
+            return board.getWinner();
+        }
+
+        private int newNode(int cell) {
+            if (nodeCount == moveCell.length) {
+                grow();
+            }
+            int node = nodeCount++;
+            moveCell[node] = cell;
+            firstChild[node] = -1;
+            nextSibling[node] = -1;
+            nextUntried[node] = 0;
+            visits[node] = 0;
+            reward[node] = 0;
+            return node;
+        }
+
+        private void grow() {
+            int capacity = moveCell.length * 2;
+            moveCell = Arrays.copyOf(moveCell, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            nextUntried = Arrays.copyOf(nextUntried, capacity);
+            visits = Arrays.copyOf(visits, capacity);
+            reward = Arrays.copyOf(reward, capacity);
+        }
+
+        // xorshift64*, so playouts need neither locks nor allocation
+        private int nextInt(int bound) {
+            randomState ^= randomState >>> 12;
+            randomState ^= randomState << 25;
+            randomState ^= randomState >>> 27;
+            long value = (randomState * 0x2545F4914F6CDD9DL) >>> 33;
+            return (int) ((value * bound) >>> 31);
+        }
+    }
+}
\ No newline at end of file
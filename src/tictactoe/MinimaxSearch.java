@@ -0,0 +1,351 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MinimaxSearch implements GameTreeSearch {
+    static final int WIN_SCORE = 1_000_000;
+    static final int DRAW_SCORE = 0;
+    private static final int NODES_BETWEEN_CLOCK_CHECKS = 1024;
+    private static final int PV_BONUS = 1 << 30;
+    private static final int KILLER_BONUS = 1 << 29;
+    // Checking a large board for symmetry scans every cell, so it is only worth it while
+    // there are few stones; compact boards check only their stones and always look
+    private static final int LARGE_BOARD_SYMMETRY_STONES = 4;
+
+    private final Board board;
+    private final SearchLimits limits;
+    private final int size;
+    private final int cells;
+    private final int maxPly;
+    private final Symmetry symmetry;
+    private final LineEvaluator evaluator;
+    private int[] rootNoise;
+    // The best exact score of any root move in the last noisy iteration
+    private int rootValue;
+
+    // Per-ply move lists and ordering keys, allocated once per search
+    private final int[][] moves;
+    private final int[][] orderKeys;
+    private final int[][] killers;
+    private final int[][] history;
+    private final int[][] pv;
+    private final int[] pvLength;
+    private int[] previousPv = new int[0];
+    private boolean followingPv;
+
+    private long nodes;
+    private long cutoffs;
+    private long deadline;
+    private boolean aborted;
+    private AtomicBoolean stopped = new AtomicBoolean();
+    private SearchListener listener;
+
+    // Set when several searches split one tree, see ParallelSearch
+    private AtomicLong sharedNodes;
+    private AtomicInteger sharedBound;
+    private int sharedBoundPly;
+
+    public MinimaxSearch(Board board, SearchLimits limits) {
+        this.board = board;
+        this.limits = limits;
+        this.size = board.getSize();
+        this.cells = size * size;
+        this.maxPly = cells - board.getMoveCount();
+        this.symmetry = Symmetry.of(size);
+        this.evaluator = new LineEvaluator(board);
+        // Depth-limited searches never go past their limit, so they need fewer plies of storage
+        int plies = Math.min(maxPly, limits.maxDepth()) + 1;
+        moves = new int[plies][cells];
+        orderKeys = new int[plies][cells];
+        killers = new int[plies][2];
+        history = new int[2][cells];
+        pv = new int[plies][plies];
+        pvLength = new int[plies];
+    }
+
+    // Searches with increasing depth until the budget runs out and returns the result
+    // of the deepest iteration that finished
+    @Override
+    public SearchResult search(char mover) {
+        deadline = System.nanoTime() + limits.timeMillis() * 1_000_000L;
+        nodes = 0;
+        cutoffs = 0;
+        aborted = false;
+        for (int[] killer : killers) {
+            killer[0] = -1;
+            killer[1] = -1;
+        }
+
+        SearchResult result = new SearchResult(-1, DRAW_SCORE, 0, 0);
+        if (board.hasWinner() || board.isFull()) {
+            return result;
+        }
+        // The caller may have moved since this search was made
+        evaluator.reset(board);
+
+        int depthLimit = Math.min(maxPly, limits.maxDepth());
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            followingPv = true;
+            int score = rootNoise != null
+                ? searchNoisyRoot(depth, mover)
+                : negamax(depth, 0, -WIN_SCORE - 1, WIN_SCORE + 1, mover);
+            if (aborted) {
+                break;
+            }
+            previousPv = Arrays.copyOf(pv[0], pvLength[0]);
+            result = new SearchResult(previousPv[0], score, depth, nodes);
+            if (listener != null) {
+                listener.iterationCompleted(result);
+            }
+
+            // A forced result cannot change with more depth. Noise decides the move but not
+            // whether the position is resolved.
+            int value = rootNoise != null ? rootValue : score;
+            if (Math.abs(value) >= WIN_SCORE - maxPly) {
+                break;
+            }
+        }
+
+        // Always return a legal move, even if the first iteration was cut short
+        if (result.cell() < 0) {
+            result = new SearchResult(firstEmptyCell(), DRAW_SCORE, 0, nodes);
+        }
+        return new SearchResult(result.cell(), result.score(), result.depth(), nodes);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    @Override
+    public void cancel() {
+        stopped.set(true);
+    }
+
+    @Override
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    // Adds noise[cell] to the score of each move at the root, so weaker players choose
+    // among moves the search cannot tell apart, or even worse moves, at random
+    void setRootNoise(int[] noise) {
+        this.rootNoise = noise;
+    }
+
+    // Makes this search one worker of a parallel search with a common stop flag and budget
+    void shareBudget(AtomicBoolean stopped, AtomicLong sharedNodes, long deadline) {
+        this.stopped = stopped;
+        this.sharedNodes = sharedNodes;
+        this.deadline = deadline;
+    }
+
+    // Searches one subtree of a parallel search. The parent's alpha is re-read before every
+    // move, so a bound raised by another worker immediately narrows this window.
+    int searchSubtree(Board position, int depth, int ply, int alpha, int beta, char mover,
+                      AtomicInteger parentAlpha) {
+        board.copyFrom(position);
+        evaluator.reset(board);
+        sharedBound = parentAlpha;
+        sharedBoundPly = ply;
+        followingPv = false;
+        aborted = false;
+        try {
+            return negamax(depth, ply, alpha, beta, mover);
+        } finally {
+            sharedBound = null;
+        }
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta, char mover) {
+        pvLength[ply] = 0;
+        if (++nodes % NODES_BETWEEN_CLOCK_CHECKS == 0 && isOutOfBudget()) {
+            aborted = true;
+            stopped.set(true);
+        }
+        if (aborted) {
+            return DRAW_SCORE;
+        }
+
+        // Only the opponent's last move can have completed a line
+        if (board.hasWinner()) {
+            return -(WIN_SCORE - ply);  // Prefer losing later
+        }
+        if (board.isFull()) {
+            return DRAW_SCORE;
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(mover, ply);
+        }
+
+        int count = generateMoves(ply, mover);
+        char opponent = opponentOf(mover);
+        int bestScore = -WIN_SCORE - 1;
+        for (int i = 0; i < count; i++) {
+            if (sharedBound != null && ply == sharedBoundPly) {
+                beta = Math.min(beta, -sharedBound.get());
+                if (alpha >= beta) {
+                    bestScore = Math.max(bestScore, beta);  // Another worker found a better sibling
+                    break;
+                }
+            }
+            int cell = nextMove(ply, i, count);
+            int row = cell / size;
+            int col = cell % size;
+            board.makeMove(row, col, mover);
+            evaluator.makeMove(cell, mover);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha, opponent);
+            evaluator.undoMove(cell, mover);
+            board.undoMove(row, col);
+            followingPv = false;
+            if (aborted) {
+                return DRAW_SCORE;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, cell);
+                }
+                if (alpha >= beta) {
+                    recordCutoff(ply, cell, depth, mover);
+                    break;  // Alpha-beta cut-off
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // With noise every root move is searched with the full window, so each gets its exact
+    // score and the choice is the true argmax of score plus noise. A cut-off on a noisy
+    // score would instead favour whichever high-noise move happened to be generated first.
+    // Returns the exact score of the chosen move.
+    private int searchNoisyRoot(int depth, char mover) {
+        pvLength[0] = 0;
+        nodes++;
+        int count = generateMoves(0, mover);
+        char opponent = opponentOf(mover);
+        int bestNoisy = Integer.MIN_VALUE;
+        int chosenScore = -WIN_SCORE - 1;
+        rootValue = -WIN_SCORE - 1;
+        for (int i = 0; i < count; i++) {
+            int cell = nextMove(0, i, count);
+            board.makeMove(cell / size, cell % size, mover);
+            evaluator.makeMove(cell, mover);
+            int score = -negamax(depth - 1, 1, -WIN_SCORE - 1, WIN_SCORE + 1, opponent);
+            evaluator.undoMove(cell, mover);
+            board.undoMove(cell / size, cell % size);
+            followingPv = false;
+            if (aborted) {
+                return DRAW_SCORE;
+            }
+            rootValue = Math.max(rootValue, score);
+            if (score + rootNoise[cell] > bestNoisy) {
+                bestNoisy = score + rootNoise[cell];
+                chosenScore = score;
+                updatePv(0, cell);
+            }
+        }
+        return chosenScore;
+    }
+
+    private int generateMoves(int ply, char mover) {
+        int[] list = moves[ply];
+        int[] keys = orderKeys[ply];
+        int[] sideHistory = history[sideIndex(mover)];
+        int pvMove = followingPv && ply < previousPv.length ? previousPv[ply] : -1;
+        boolean pvMoveFound = false;
+        int count = board.getLegalMoves(list);
+        // Mirrored moves score alike, but the noisy root of weaker levels must see them all
+        if ((board.isCompact() || board.getMoveCount() <= LARGE_BOARD_SYMMETRY_STONES)
+                && (ply > 0 || rootNoise == null)) {
+            count = symmetry.keepCanonicalMoves(list, count, symmetry.invariants(board));
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = list[i];
+            int key = sideHistory[cell];
+            if (cell == pvMove) {
+                key = PV_BONUS;
+                pvMoveFound = true;
+            } else if (cell == killers[ply][0] || cell == killers[ply][1]) {
+                key = KILLER_BONUS + (cell == killers[ply][0] ? 1 : 0);
+            }
+            keys[i] = key;
+        }
+        // Only the leftmost branch of the tree follows the previous principal variation
+        followingPv = pvMoveFound;
+        return count;
+    }
+
+    // Selection-sorts lazily, so a cut-off after a few moves skips ordering the rest
+    private int nextMove(int ply, int index, int count) {
+        int[] list = moves[ply];
+        int[] keys = orderKeys[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (keys[i] > keys[best]) {
+                best = i;
+            }
+        }
+        int cell = list[best];
+        list[best] = list[index];
+        list[index] = cell;
+        int key = keys[best];
+        keys[best] = keys[index];
+        keys[index] = key;
+        return cell;
+    }
+
+    private void updatePv(int ply, int cell) {
+        pv[ply][0] = cell;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, childLength);
+        pvLength[ply] = childLength + 1;
+    }
+
+    private void recordCutoff(int ply, int cell, int depth, char mover) {
+        cutoffs++;
+        if (killers[ply][0] != cell) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = cell;
+        }
+        history[sideIndex(mover)][cell] += depth * depth;
+    }
+
+    private boolean isOutOfBudget() {
+        long totalNodes = sharedNodes != null
+            ? sharedNodes.addAndGet(NODES_BETWEEN_CLOCK_CHECKS)
+            : nodes;
+        return stopped.get() || totalNodes >= limits.maxNodes() || System.nanoTime() >= deadline;
+    }
+
+    private int firstEmptyCell() {
+        for (int cell = 0; cell < cells; cell++) {
+            if (board.isValidMove(cell / size, cell % size)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static int sideIndex(char symbol) {
+        return symbol == Symbol.X.getValue() ? 0 : 1;
+    }
+
+    static char opponentOf(char symbol) {
+        return symbol == Symbol.X.getValue() ? Symbol.O.getValue() : Symbol.X.getValue();
+    }
+}
\ No newline at end of file
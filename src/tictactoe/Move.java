@@ -0,0 +1,3 @@
+package tictactoe;
+
+record Move(int row, int col) {}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One AIPlayer.getMove call, as seen by Flight Recorder. Enable with e.g.
+//   java -XX:StartFlightRecording:filename=moves.jfr ...
+// Without a recording no event is allocated, so AIPlayer emits them unconditionally.
+@Name("tictactoe.MoveSearch")
+@Label("Move Search")
+@Category("Tic Tac Toe")
+@Description("An AI player choosing a move")
+@StackTrace(false)
+final class MoveSearchEvent extends Event {
+    // Only asked whether the event type is enabled, which follows the running recordings
+    private static final MoveSearchEvent PROBE = new MoveSearchEvent();
+
+    @Label("Difficulty")
+    String difficulty;
+
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Source")
+    @Description("table, solved, book, ponder, search or random")
+    String source;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Cutoffs")
+    long cutoffs;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Score")
+    int score;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    // A started event, or null when no recording wants one
+    static MoveSearchEvent startIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        MoveSearchEvent event = new MoveSearchEvent();
+        event.begin();
+        return event;
+    }
+
+    // Notes where the move came from; does nothing for a null event
+    static void describe(MoveSearchEvent event, String source, SearchResult result,
+                         long cutoffs) {
+        if (event == null) {
+            return;
+        }
+        event.source = source;
+        if (result != null) {
+            event.depth = result.depth();
+            event.score = result.score();
+            event.nodes = result.nodes();
+        }
+        event.cutoffs = cutoffs;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package tictactoe;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Best moves for positions solved offline, read straight from a memory-mapped file so that
+// every JVM on the machine shares the same pages instead of loading a copy onto its heap.
+//
+// File layout, big-endian:
+//   int magic, int version, int size, int winLength, long entryCount
+//   entryCount x (long key, int value), sorted by key
+// The key ranks the cells in base 3 as seen by the side to move (0 empty, 1 own, 2 other),
+// which is a perfect hash for boards of up to 40 cells. Positions are stored once for all
+// their rotations and reflections, under the orientation with the lowest key (see Symmetry),
+// and the best cell is stored in that orientation too. The value packs the best cell
+// (8 bits), the search depth (8 bits) and the score (16 bits, see packScore).
+public final class OpeningBook {
+    static final int MAGIC = 0x54545442;  // "TTTB"
+    static final int VERSION = 2;
+    static final int MAX_CELLS = 40;
+    private static final int HEADER_BYTES = 24;
+    private static final int ENTRY_BYTES = 12;
+    private static final int MATE_SCORE = Short.MAX_VALUE;
+    private static final int MAX_HEURISTIC_SCORE = 30_000;
+
+    private final MappedByteBuffer entries;
+    private final int size;
+    private final int winLength;
+    private final long entryCount;
+
+    private OpeningBook(MappedByteBuffer entries, int size, int winLength, long entryCount) {
+        this.entries = entries;
+        this.size = size;
+        this.winLength = winLength;
+        this.entryCount = entryCount;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(path + " is not an opening book");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(path + " is not an opening book");
+            }
+            long entryCount = buffer.getLong(16);
+            if (HEADER_BYTES + entryCount * ENTRY_BYTES != channel.size()) {
+                throw new IOException(path + " is truncated");
+            }
+            return new OpeningBook(buffer, buffer.getInt(8), buffer.getInt(12), entryCount);
+        }
+    }
+
+    public boolean supports(Board board) {
+        return board.getSize() == size && board.getWinLength() == winLength;
+    }
+
+    // Returns the stored result for the side to move, or null if the position is not in the book
+    public SearchResult probe(Board board, char mover) {
+        if (!supports(board)) {
+            return null;
+        }
+        Symmetry symmetry = Symmetry.of(size);
+        int transform = symmetry.canonicalTransform(board, mover);
+        long key = symmetry.key(board, mover, transform);
+        long low = 0;
+        long high = entryCount - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int offset = (int) (HEADER_BYTES + middle * ENTRY_BYTES);
+            long middleKey = entries.getLong(offset);
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                int value = entries.getInt(offset + Long.BYTES);
+                int cell = symmetry.transform(symmetry.inverse(transform), value >>> 24);
+                return new SearchResult(cell, unpackScore((short) value), (value >>> 16) & 0xFF, 0);
+            }
+        }
+        return null;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    static long key(Board board, char mover) {
+        int cells = board.getSize() * board.getSize();
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(
+                "Opening books support at most " + MAX_CELLS + " cells");
+        }
+        char[][] grid = board.getGrid();
+        long key = 0;
+        for (int cell = cells - 1; cell >= 0; cell--) {
+            char value = grid[cell / board.getSize()][cell % board.getSize()];
+            key = key * 3 + (value == Symbol.EMPTY.getValue() ? 0 : (value == mover ? 1 : 2));
+        }
+        return key;
+    }
+
+    // Writes entries given as parallel arrays; keys need not be sorted
+    static void write(Path path, int size, int winLength, long[] keys, int[] values)
+            throws IOException {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(winLength);
+            out.writeLong(keys.length);
+            for (int index : order) {
+                out.writeLong(keys[index]);
+                out.writeInt(values[index]);
+            }
+        }
+    }
+
+    static int packValue(SearchResult result) {
+        return (result.cell() << 24) | (Math.min(result.depth(), 0xFF) << 16)
+            | (packScore(result.score()) & 0xFFFF);
+    }
+
+    // Forced wins and losses keep their distance in plies; other scores are clamped
+    private static short packScore(int score) {
+        if (Math.abs(score) >= MinimaxSearch.WIN_SCORE - MAX_CELLS) {
+            int plies = MinimaxSearch.WIN_SCORE - Math.abs(score);
+            return (short) (Integer.signum(score) * (MATE_SCORE - plies));
+        }
+        return (short) Math.max(-MAX_HEURISTIC_SCORE, Math.min(MAX_HEURISTIC_SCORE, score));
+    }
+
+    private static int unpackScore(short packed) {
+        if (Math.abs(packed) > MAX_HEURISTIC_SCORE) {
+            int plies = MATE_SCORE - Math.abs(packed);
+            return Integer.signum(packed) * (MinimaxSearch.WIN_SCORE - plies);
+        }
+        return packed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package tictactoe;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Searches every position up to a number of plies from the start and writes an OpeningBook.
+// Usage: OpeningBookGenerator --out book.bin [--size 4] [--win 4] [--plies 4]
+//                             [--time-ms 1000] [--threads N]
+public class OpeningBookGenerator {
+    public static void main(String[] args) throws Exception {
+        Path out = null;
+        int size = 4;
+        int winLength = -1;
+        int plies = 4;
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--out": out = Paths.get(args[i + 1]); break;
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--plies": plies = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("--out is required");
+        }
+        winLength = winLength > 0 ? winLength : size;
+
+        List<Board> positions = collectPositions(new Board(size, winLength), plies);
+        System.out.printf("Searching %d positions, %d ms each%n", positions.size(), timeMillis);
+
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SearchResult>> results = new ArrayList<>(positions.size());
+            for (Board position : positions) {
+                results.add(executor.submit(() ->
+                    new MinimaxSearch(new Board(position), limits).search(sideToMove(position))));
+            }
+
+            // Entries are stored in the canonical orientation, see OpeningBook
+            Symmetry symmetry = Symmetry.of(size);
+            long[] keys = new long[positions.size()];
+            int[] values = new int[positions.size()];
+            for (int i = 0; i < positions.size(); i++) {
+                Board position = positions.get(i);
+                int transform = symmetry.canonicalTransform(position, sideToMove(position));
+                SearchResult result = results.get(i).get();
+                keys[i] = symmetry.key(position, sideToMove(position), transform);
+                values[i] = OpeningBook.packValue(new SearchResult(
+                    symmetry.transform(transform, result.cell()), result.score(), result.depth(),
+                    result.nodes()));
+            }
+            OpeningBook.write(out, size, winLength, keys, values);
+            System.out.printf("Wrote %d entries to %s%n", keys.length, out);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // All unfinished positions reachable in at most the given number of plies, one of each
+    // set of positions that are rotations or reflections of each other
+    private static List<Board> collectPositions(Board start, int plies) {
+        Symmetry symmetry = Symmetry.of(start.getSize());
+        List<Board> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Board> frontier = new ArrayList<>();
+        frontier.add(start);
+        for (int ply = 0; ply <= plies && !frontier.isEmpty(); ply++) {
+            List<Board> next = new ArrayList<>();
+            for (Board position : frontier) {
+                char mover = sideToMove(position);
+                if (position.hasWinner() || position.isFull() ||
+                    !seen.add(symmetry.canonicalKey(position, mover))) {
+                    continue;
+                }
+                positions.add(position);
+                int size = position.getSize();
+                for (int cell = 0; cell < size * size && ply < plies; cell++) {
+                    if (position.isValidMove(cell / size, cell % size)) {
+                        Board child = new Board(position);
+                        child.makeMove(cell / size, cell % size, mover);
+                        next.add(child);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return positions;
+    }
+
+    private static char sideToMove(Board board) {
+        return board.getMoveCount() % 2 == 0 ? Symbol.X.getValue() : Symbol.O.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Young Brothers Wait: at the top plies the first move of a node is searched alone to get
+// a bound, then its younger brothers are searched in parallel and share that node's alpha.
+public class ParallelSearch implements GameTreeSearch {
+    private static final int DEFAULT_SPLIT_PLIES = 2;
+
+    private final Board root;
+    private final SearchLimits limits;
+    private final ForkJoinPool pool;
+    private final int splitPlies;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicLong sharedNodes = new AtomicLong();
+    private final List<MinimaxSearch> workers = new CopyOnWriteArrayList<>();
+    // The worker of each pool thread by pool index + 1, slot 0 serving the calling thread.
+    // Held by this search rather than by the threads, so it goes when the search does.
+    private MinimaxSearch[] workerSlots = new MinimaxSearch[0];
+    private long deadline;
+    private SearchListener listener;
+    private int[] rootOrder;
+
+    public ParallelSearch(Board board, SearchLimits limits, ForkJoinPool pool) {
+        this(board, limits, pool, DEFAULT_SPLIT_PLIES);
+    }
+
+    public ParallelSearch(Board board, SearchLimits limits, ForkJoinPool pool, int splitPlies) {
+        this.root = new Board(board);
+        this.limits = limits;
+        this.pool = pool;
+        this.splitPlies = splitPlies;
+    }
+
+    @Override
+    public SearchResult search(char mover) {
+        deadline = System.nanoTime() + limits.timeMillis() * 1_000_000L;
+        sharedNodes.set(0);
+        workers.clear();
+        synchronized (this) {
+            workerSlots = new MinimaxSearch[pool.getParallelism() + 1];
+        }
+
+        SearchResult result = new SearchResult(-1, MinimaxSearch.DRAW_SCORE, 0, 0);
+        if (root.hasWinner() || root.isFull()) {
+            return result;
+        }
+
+        rootOrder = emptyCells(root);
+        int maxPly = root.getSize() * root.getSize() - root.getMoveCount();
+        int depthLimit = Math.min(maxPly, limits.maxDepth());
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            SplitNode task = new SplitNode(root, mover, depth, 0,
+                -MinimaxSearch.WIN_SCORE - 1, MinimaxSearch.WIN_SCORE + 1, null);
+            int score = pool.invoke(task);
+            if (stopped.get()) {
+                break;
+            }
+            result = new SearchResult(task.bestCell, score, depth, getNodes());
+            if (listener != null) {
+                listener.iterationCompleted(result);
+            }
+            moveToFront(rootOrder, task.bestCell);
+
+            // A forced result cannot change with more depth
+            if (Math.abs(score) >= MinimaxSearch.WIN_SCORE - maxPly) {
+                break;
+            }
+        }
+
+        if (result.cell() < 0) {
+            result = new SearchResult(rootOrder[0], MinimaxSearch.DRAW_SCORE, 0, 0);
+        }
+        return new SearchResult(result.cell(), result.score(), result.depth(), getNodes());
+    }
+
+    @Override
+    public void cancel() {
+        stopped.set(true);
+    }
+
+    @Override
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    public long getNodes() {
+        long total = 0;
+        for (MinimaxSearch worker : workers) {
+            total += worker.getNodes();
+        }
+        return total;
+    }
+
+    @Override
+    public long getCutoffs() {
+        long total = 0;
+        for (MinimaxSearch worker : workers) {
+            total += worker.getCutoffs();
+        }
+        return total;
+    }
+
+    // Each pool thread gets its own board copy, killer moves and history table
+    private synchronized MinimaxSearch currentWorker() {
+        Thread thread = Thread.currentThread();
+        int slot = thread instanceof ForkJoinWorkerThread
+            && ((ForkJoinWorkerThread) thread).getPool() == pool
+            ? ((ForkJoinWorkerThread) thread).getPoolIndex() + 1
+            : 0;
+        // Threads added to make up for blocked ones can have indexes past the parallelism
+        if (slot >= workerSlots.length) {
+            workerSlots = Arrays.copyOf(workerSlots, slot + 1);
+        }
+        if (workerSlots[slot] == null) {
+            MinimaxSearch worker = new MinimaxSearch(new Board(root), limits);
+            worker.shareBudget(stopped, sharedNodes, deadline);
+            workers.add(worker);
+            workerSlots[slot] = worker;
+        }
+        return workerSlots[slot];
+    }
+
+    // Moves that mirror another move of a symmetric position are left out
+    private static int[] emptyCells(Board board) {
+        int size = board.getSize();
+        int[] cells = new int[size * size - board.getMoveCount()];
+        int count = board.getLegalMoves(cells);
+        Symmetry symmetry = Symmetry.of(size);
+        return Arrays.copyOf(cells, symmetry.keepCanonicalMoves(cells, count,
+            symmetry.invariants(board)));
+    }
+
+    private static void moveToFront(int[] cells, int cell) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                System.arraycopy(cells, 0, cells, 1, i);
+                cells[0] = cell;
+                return;
+            }
+        }
+    }
+
+    private final class SplitNode extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private final Board position;
+        private final char mover;
+        private final int depth;
+        private final int ply;
+        private final int alpha;
+        private final int beta;
+        private final AtomicInteger parentAlpha;
+        private int bestCell = -1;
+        private boolean dominated;
+
+        SplitNode(Board position, char mover, int depth, int ply, int alpha, int beta,
+                  AtomicInteger parentAlpha) {
+            this.position = position;
+            this.mover = mover;
+            this.depth = depth;
+            this.ply = ply;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.parentAlpha = parentAlpha;
+        }
+
+        @Override
+        protected Integer compute() {
+            int score = search();
+            if (parentAlpha != null) {
+                // A score that does not beat a sibling's may only be a cut-off bound
+                dominated = -score <= parentAlpha.get();
+                // Publishing the result right away lets running siblings tighten their windows
+                parentAlpha.accumulateAndGet(-score, Math::max);
+            }
+            return score;
+        }
+
+        private int search() {
+            // The root always splits, so the best move is known
+            if (ply > 0 && (ply >= splitPlies || depth <= 1 || position.hasWinner() || position.isFull())) {
+                return currentWorker().searchSubtree(
+                    position, depth, ply, alpha, beta, mover, parentAlpha);
+            }
+
+            int[] order = ply == 0 ? rootOrder : emptyCells(position);
+            char opponent = MinimaxSearch.opponentOf(mover);
+            AtomicInteger bound = new AtomicInteger(alpha);
+
+            // The eldest brother is searched first to establish a bound
+            SplitNode eldest = new SplitNode(childOf(order[0]), opponent, depth - 1, ply + 1,
+                -beta, -alpha, bound);
+            int bestScore = -eldest.compute();
+            bestCell = order[0];
+            int currentBeta = parentAlpha != null ? Math.min(beta, -parentAlpha.get()) : beta;
+            if (bestScore >= currentBeta || stopped.get()) {
+                return bestScore;
+            }
+
+            List<SplitNode> youngBrothers = new ArrayList<>(order.length - 1);
+            for (int i = 1; i < order.length; i++) {
+                youngBrothers.add(new SplitNode(childOf(order[i]), opponent, depth - 1, ply + 1,
+                    -beta, -bound.get(), bound));
+            }
+            invokeAll(youngBrothers);
+
+            for (int i = 0; i < youngBrothers.size(); i++) {
+                SplitNode brother = youngBrothers.get(i);
+                int score = -brother.join();
+                if (score > bestScore && !brother.dominated) {
+                    bestScore = score;
+                    bestCell = order[i + 1];
+                }
+            }
+            return bestScore;
+        }
+
+        private Board childOf(int cell) {
+            int size = position.getSize();
+            Board child = new Board(position);
+            child.makeMove(cell / size, cell % size, mover);
+            return child;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+public final class PerfectPlayTable {
+    static final int WIN_SCORE = 10;
+    private static final Board CLASSIC = new Board();
+    private static final int CELLS = Board.DEFAULT_SIZE * Board.DEFAULT_SIZE;
+    private static final byte UNSOLVED = -1;
+    private static final int[] POWERS_OF_THREE = createPowersOfThree();
+    private static final int POSITIONS = POWERS_OF_THREE[CELLS];
+
+    // Indexed by the base-3 rank of a position as seen by the side to move
+    private static final byte[] BEST_CELLS = new byte[POSITIONS];
+    private static final byte[] SCORES = new byte[POSITIONS];
+
+    static {
+        Arrays.fill(BEST_CELLS, UNSOLVED);
+        solve(0, 0);
+    }
+
+    private PerfectPlayTable() {
+    }
+
+    // Returns the optimal cell of a classic 3x3 board for the side owning 'mine',
+    // or -1 if the position was never reached
+    public static int bestCell(long mine, long theirs) {
+        return BEST_CELLS[rank(mine, theirs)];
+    }
+
+    public static int score(long mine, long theirs) {
+        return SCORES[rank(mine, theirs)];
+    }
+
+    static int rank(long mine, long theirs) {
+        int rank = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            long move = 1L << cell;
+            if ((mine & move) != 0) {
+                rank += POWERS_OF_THREE[cell];
+            } else if ((theirs & move) != 0) {
+                rank += 2 * POWERS_OF_THREE[cell];
+            }
+        }
+        return rank;
+    }
+
+    private static int solve(long mine, long theirs) {
+        int rank = rank(mine, theirs);
+        if (BEST_CELLS[rank] != UNSOLVED) {
+            return SCORES[rank];
+        }
+
+        int bestScore = Integer.MIN_VALUE;
+        int bestCell = UNSOLVED;
+        for (int cell = 0; cell < CELLS; cell++) {
+            long move = 1L << cell;
+            if (((mine | theirs) & move) != 0) {
+                continue;
+            }
+            long next = mine | move;
+            int score;
+            if (CLASSIC.isWin(next)) {
+                score = WIN_SCORE;
+            } else if ((next | theirs) == CLASSIC.getFullMask()) {
+                score = 0;
+            } else {
+                // Results further away are worth one point less, as MinimaxSearch scores
+                // a win by its distance in plies
+                int reply = solve(theirs, next);
+                score = reply > 0 ? 1 - reply : (reply < 0 ? -1 - reply : 0);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = cell;
+            }
+        }
+
+        BEST_CELLS[rank] = (byte) bestCell;
+        SCORES[rank] = (byte) bestScore;
+        return bestScore;
+    }
+
+    private static int[] createPowersOfThree() {
+        int[] powers = new int[CELLS + 1];
+        powers[0] = 1;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1] * 3;
+        }
+        return powers;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package tictactoe;
+
+public abstract class Player {
+    protected final Symbol symbol;
+
+    protected Player(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
+    public abstract Move getMove(Board board);
+
+    // The move as row * size + col, or -1 if there is none. Players that can choose without
+    // allocating override this, so self-play through Game.makeMove(int) creates no garbage.
+    public int getMoveCell(Board board) {
+        Move move = getMove(board);
+        return move == null ? -1 : move.row() * board.getSize() + move.col();
+    }
+
+    // Called by Game after every move, including this player's own
+    public void moveMade(Board board, int row, int col, char symbol) {
+    }
+
+    public char getSymbol() {
+        return symbol.getValue();
+    }
+}
\ No newline at end of file
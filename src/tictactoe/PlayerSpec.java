@@ -0,0 +1,64 @@
+package tictactoe;
+
+import java.util.Locale;
+import java.util.Random;
+
+// Describes a player on the command line, e.g. "ai:hard", "ai:easy", "mcts:5000" or "random",
+// so every worker thread can create its own instances
+public final class PlayerSpec {
+    private final String type;
+    private final Difficulty difficulty;
+    private final long playouts;
+    private final SearchLimits searchLimits;
+
+    private PlayerSpec(String type, Difficulty difficulty, long playouts, SearchLimits searchLimits) {
+        this.type = type;
+        this.difficulty = difficulty;
+        this.playouts = playouts;
+        this.searchLimits = searchLimits;
+    }
+
+    public static PlayerSpec parse(String spec, SearchLimits searchLimits) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":", 2);
+        switch (parts[0]) {
+            case "ai":
+                Difficulty difficulty = parts.length > 1
+                    ? Difficulty.valueOf(parts[1].toUpperCase(Locale.ROOT))
+                    : Difficulty.HARD;
+                return new PlayerSpec("ai", difficulty, 0, searchLimits);
+            case "mcts":
+                long playouts = parts.length > 1 ? Long.parseLong(parts[1]) : 10_000;
+                return new PlayerSpec("mcts", null, playouts, searchLimits);
+            case "random":
+                return new PlayerSpec("random", null, 0, searchLimits);
+            default:
+                throw new IllegalArgumentException("Unknown player '" + spec
+                    + "', expected ai:<difficulty>, mcts:<playouts> or random");
+        }
+    }
+
+    public Player create(Symbol symbol) {
+        return create(symbol, new Random().nextLong());
+    }
+
+    // A player whose random choices all follow from the seed
+    public Player create(Symbol symbol, long seed) {
+        if (difficulty != null) {
+            return new AIPlayer(symbol, difficulty, searchLimits, null, new Random(seed));
+        }
+        if (type.equals("random")) {
+            return new RandomPlayer(symbol, new Random(seed));
+        }
+        SearchLimits mctsLimits =
+            new SearchLimits(searchLimits.timeMillis(), playouts, searchLimits.maxDepth());
+        return new MctsPlayer(symbol, mctsLimits, null, seed);
+    }
+
+    @Override
+    public String toString() {
+        if (difficulty != null) {
+            return type + ":" + difficulty.name().toLowerCase(Locale.ROOT);
+        }
+        return type.equals("random") ? type : type + ":" + playouts;
+    }
+}
\ No newline at end of file
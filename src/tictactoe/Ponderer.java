@@ -0,0 +1,170 @@
+package tictactoe;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Searches our reply to each likely opponent move while the opponent is still thinking.
+// Once the real move is known, the other searches stop and the matching one either is
+// already finished or keeps running with the head start it got.
+final class Ponderer {
+    private final SearchLimits limits;
+    private final char mover;
+    private final ExecutorService executor;
+    private volatile Session session;
+
+    Ponderer(SearchLimits limits, char mover) {
+        this.limits = limits;
+        this.mover = mover;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-ponder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Starts pondering on the position after our own move
+    void start(Board position, int lastCell) {
+        stop();
+        Session next = new Session(new Board(position), lastCell);
+        session = next;
+        executor.execute(next);
+    }
+
+    void opponentMoved(int cell) {
+        Session current = session;
+        if (current != null) {
+            current.opponentMoved(cell);
+        }
+    }
+
+    // Returns the pondered result for this position, waiting for a search that is still
+    // running, or null if the position was not pondered. The session stays current while
+    // this waits, so stop can still cut the wait short.
+    SearchResult takeResult(Board board) {
+        Session current = session;
+        if (current == null || !current.matches(board)) {
+            return null;
+        }
+        try {
+            return current.results.get(current.actualReply).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } finally {
+            if (session == current) {
+                session = null;
+            }
+        }
+    }
+
+    void stop() {
+        Session current = session;
+        session = null;
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    // Stops pondering for good and lets the pondering thread end
+    void shutdown() {
+        stop();
+        executor.shutdown();
+    }
+
+    private final class Session implements Runnable {
+        private final Board base;
+        private final int[] replies;
+        private final Map<Integer, CompletableFuture<SearchResult>> results = new HashMap<>();
+        private volatile int actualReply = -1;
+        private volatile int currentReply = -1;
+        private volatile GameTreeSearch currentSearch;
+        private volatile boolean stopped;
+
+        Session(Board base, int lastCell) {
+            this.base = base;
+            this.replies = repliesByDistance(base, lastCell);
+            for (int reply : replies) {
+                results.put(reply, new CompletableFuture<>());
+            }
+        }
+
+        @Override
+        public void run() {
+            int size = base.getSize();
+            char opponent = MinimaxSearch.opponentOf(mover);
+            try {
+                for (int reply : replies) {
+                    if (stopped) {
+                        break;
+                    }
+                    Board position = new Board(base);
+                    position.makeMove(reply / size, reply % size, opponent);
+                    GameTreeSearch search = new MinimaxSearch(position, limits);
+                    currentSearch = search;
+                    currentReply = reply;
+                    // Written before actualReply is read, pairing with opponentMoved
+                    int actual = actualReply;
+                    if (actual >= 0 && actual != reply) {
+                        continue;
+                    }
+                    results.get(reply).complete(search.search(mover));
+                }
+            } finally {
+                for (CompletableFuture<SearchResult> result : results.values()) {
+                    result.complete(null);
+                }
+            }
+        }
+
+        void opponentMoved(int cell) {
+            actualReply = cell;
+            GameTreeSearch search = currentSearch;
+            if (search != null && currentReply != cell) {
+                search.cancel();
+            }
+        }
+
+        boolean matches(Board board) {
+            int reply = actualReply;
+            if (reply < 0 || !results.containsKey(reply) ||
+                board.getSize() != base.getSize() || board.getWinLength() != base.getWinLength() ||
+                board.getMoveCount() != base.getMoveCount() + 1) {
+                return false;
+            }
+            // The reply changes the base position's hash by exactly its own key
+            return board.getHash()
+                == (base.getHash() ^ base.zobristKey(reply, MinimaxSearch.opponentOf(mover)));
+        }
+
+        void stop() {
+            stopped = true;
+            GameTreeSearch search = currentSearch;
+            if (search != null) {
+                search.cancel();
+            }
+        }
+
+        // Opponents usually answer close to the last move, so those replies go first
+        private int[] repliesByDistance(Board board, int lastCell) {
+            int size = board.getSize();
+            int[] cells = new int[size * size - board.getMoveCount()];
+            int count = 0;
+            for (int distance = 0; distance < size; distance++) {
+                for (int cell = 0; cell < size * size; cell++) {
+                    int d = Math.max(Math.abs(cell / size - lastCell / size),
+                                     Math.abs(cell % size - lastCell % size));
+                    if (d == distance && board.isValidMove(cell / size, cell % size)) {
+                        cells[count++] = cell;
+                    }
+                }
+            }
+            return cells;
+        }
+    }
+}
\ No newline at end of file
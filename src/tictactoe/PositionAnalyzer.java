@@ -0,0 +1,239 @@
+package tictactoe;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Finds the best move, score and distance to the result for many positions at once.
+//
+// Positions are read one per line as the cells row by row in Symbol characters, with
+// optional '/' between rows and an optional side to move, e.g. "X-O/-X-/--O O". Without
+// it, X moves when both sides have played equally often. Each line is answered in input
+// order with the line followed by
+//   <row> <col> <score> <WIN|LOSS|DRAW|UNKNOWN> <plies>   or   ERR <reason>
+// where plies is the distance to a forced result, or -1 if the search did not prove one.
+// Boards are at most GameServer.MAX_SIZE wide, which keeps the search tables of every
+// thread small.
+// Usage: PositionAnalyzer [--in positions.txt] [--out results.txt] [--win N]
+//                         [--time-ms 1000] [--threads N]
+public class PositionAnalyzer {
+    private final SearchLimits limits;
+    private final int threads;
+
+    public PositionAnalyzer(SearchLimits limits, int threads) {
+        this.limits = limits;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String in = null;
+        String out = null;
+        int winLength = -1;
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--in": in = args[i + 1]; break;
+                case "--out": out = args[i + 1]; break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        PositionAnalyzer analyzer = new PositionAnalyzer(limits, threads);
+        try (Reader input = in != null
+                 ? Files.newBufferedReader(Paths.get(in), StandardCharsets.UTF_8)
+                 : new InputStreamReader(System.in, StandardCharsets.UTF_8);
+             Writer output = out != null
+                 ? Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8)
+                 : new BufferedWriter(
+                     new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            analyzer.analyzeAll(input, output, winLength);
+        }
+    }
+
+    // Analyses every line of the input on all threads and writes the answers in input order.
+    // At most a few lines per thread are in flight, so memory does not grow with the input.
+    // A winLength of 0 or less means a full row wins.
+    public void analyzeAll(Reader input, Writer output, int winLength)
+            throws IOException, InterruptedException {
+        BufferedReader lines = input instanceof BufferedReader
+            ? (BufferedReader) input
+            : new BufferedReader(input);
+        int window = threads * 4;
+        Deque<Future<String>> pending = new ArrayDeque<>(window);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String position = line.trim();
+                pending.addLast(executor.submit(() -> answer(position, winLength)));
+                if (pending.size() >= window) {
+                    writeAnswer(pending.removeFirst(), output);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeAnswer(pending.removeFirst(), output);
+            }
+            output.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public Analysis analyze(Board board, char mover) {
+        int size = board.getSize();
+        int remaining = size * size - board.getMoveCount();
+        if (board.hasWinner()) {
+            return board.getWinner() == mover
+                ? new Analysis(-1, MinimaxSearch.WIN_SCORE, Outcome.WIN, 0)
+                : new Analysis(-1, -MinimaxSearch.WIN_SCORE, Outcome.LOSS, 0);
+        }
+        if (board.isFull()) {
+            return new Analysis(-1, MinimaxSearch.DRAW_SCORE, Outcome.DRAW, 0);
+        }
+        if (AIPlayer.isClassic(board)) {
+            Analysis solved = lookUp(board, mover, remaining);
+            if (solved != null) {
+                return solved;
+            }
+        }
+
+        SearchResult result = new MinimaxSearch(new Board(board), limits).search(mover);
+        int score = result.score();
+        if (Math.abs(score) >= MinimaxSearch.WIN_SCORE - remaining) {
+            Outcome outcome = score > 0 ? Outcome.WIN : Outcome.LOSS;
+            int plies = MinimaxSearch.WIN_SCORE - Math.abs(score);
+            return new Analysis(result.cell(), score, outcome, plies);
+        }
+        // Searching every remaining ply without finding a win proves the draw
+        if (result.depth() >= remaining) {
+            return new Analysis(result.cell(), score, Outcome.DRAW, remaining);
+        }
+        return new Analysis(result.cell(), score, Outcome.UNKNOWN, -1);
+    }
+
+    // Classic boards come straight from the solved table, whose scores count down from
+    // PerfectPlayTable.WIN_SCORE by one per ply. Null for positions the table never reached.
+    private static Analysis lookUp(Board board, char mover, int remaining) {
+        long mine = board.getBits(mover);
+        long theirs = board.getBits(MinimaxSearch.opponentOf(mover));
+        int cell = PerfectPlayTable.bestCell(mine, theirs);
+        if (cell < 0) {
+            return null;
+        }
+        int tableScore = PerfectPlayTable.score(mine, theirs);
+        if (tableScore == 0) {
+            return new Analysis(cell, MinimaxSearch.DRAW_SCORE, Outcome.DRAW, remaining);
+        }
+        int plies = PerfectPlayTable.WIN_SCORE + 1 - Math.abs(tableScore);
+        return tableScore > 0
+            ? new Analysis(cell, MinimaxSearch.WIN_SCORE - plies, Outcome.WIN, plies)
+            : new Analysis(cell, -(MinimaxSearch.WIN_SCORE - plies), Outcome.LOSS, plies);
+    }
+
+    private String answer(String line, int winLength) {
+        try {
+            String[] parts = line.split("\\s+");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException(
+                    "expected cells and an optional side to move");
+            }
+            Board board = parseBoard(parts[0], winLength);
+            char mover = parts.length == 2 ? parseMover(parts[1]) : sideToMove(board);
+            Analysis analysis = analyze(board, mover);
+            if (analysis.cell() < 0) {
+                return line + " - - " + analysis.score() + " " + analysis.outcome() + " 0";
+            }
+            return line + " " + analysis.cell() / board.getSize() + " "
+                + analysis.cell() % board.getSize() + " " + analysis.score() + " "
+                + analysis.outcome() + " " + analysis.plies();
+        } catch (IllegalArgumentException e) {
+            return line + " ERR " + e.getMessage();
+        }
+    }
+
+    private static void writeAnswer(Future<String> answer, Writer output)
+            throws IOException, InterruptedException {
+        try {
+            output.write(answer.get());
+            output.write(System.lineSeparator());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis failed", e.getCause());
+        }
+    }
+
+    static Board parseBoard(String text, int winLength) {
+        String cells = text.replace("/", "");
+        if (cells.length() > GameServer.MAX_SIZE * GameServer.MAX_SIZE) {
+            throw new IllegalArgumentException("boards may be at most " + GameServer.MAX_SIZE
+                + "x" + GameServer.MAX_SIZE);
+        }
+        int size = (int) Math.round(Math.sqrt(cells.length()));
+        if (size * size != cells.length()) {
+            throw new IllegalArgumentException(
+                cells.length() + " cells do not make a square board");
+        }
+        Board board = new Board(size, winLength > 0 ? Math.min(winLength, size) : size);
+        for (int cell = 0; cell < cells.length(); cell++) {
+            char value = cells.charAt(cell);
+            if (value == Symbol.X.getValue() || value == Symbol.O.getValue()) {
+                board.makeMove(cell / size, cell % size, value);
+            } else if (value != Symbol.EMPTY.getValue()) {
+                throw new IllegalArgumentException("unexpected character '" + value + "'");
+            }
+        }
+        return board;
+    }
+
+    // X moves first, so X is to move whenever both sides have played equally often
+    static char sideToMove(Board board) {
+        int xCount = 0;
+        for (char[] row : board.getGrid()) {
+            for (char cell : row) {
+                if (cell == Symbol.X.getValue()) {
+                    xCount++;
+                }
+            }
+        }
+        int oCount = board.getMoveCount() - xCount;
+        if (xCount == oCount) {
+            return Symbol.X.getValue();
+        }
+        if (xCount == oCount + 1) {
+            return Symbol.O.getValue();
+        }
+        throw new IllegalArgumentException("X and O counts cannot occur in a game");
+    }
+
+    private static char parseMover(String text) {
+        char mover = text.length() == 1 ? text.charAt(0) : ' ';
+        if (mover == Symbol.X.getValue() || mover == Symbol.O.getValue()) {
+            return mover;
+        }
+        throw new IllegalArgumentException("side to move must be X or O");
+    }
+
+    public enum Outcome { WIN, LOSS, DRAW, UNKNOWN }
+
+    // cell is -1 for finished positions; plies is -1 when the outcome is UNKNOWN
+    public record Analysis(int cell, int score, Outcome outcome, int plies) {}
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package tictactoe;
+
+import java.util.Random;
+
+// Plays a uniformly random empty cell: the floor any engine in a tournament should clear
+final class RandomPlayer extends Player {
+    private final Random random;
+
+    RandomPlayer(Symbol symbol, Random random) {
+        super(symbol);
+        this.random = random;
+    }
+
+    @Override
+    public Move getMove(Board board) {
+        int cell = getMoveCell(board);
+        return cell < 0 ? null : new Move(cell / board.getSize(), cell % board.getSize());
+    }
+
+    // Picks the n-th empty cell for a random n, so nothing is allocated
+    @Override
+    public int getMoveCell(Board board) {
+        int size = board.getSize();
+        int empty = size * size - board.getMoveCount();
+        if (empty == 0 || board.hasWinner()) {
+            return -1;
+        }
+        int skip = random.nextInt(empty);
+        char[][] grid = board.getGrid();
+        for (int cell = 0; ; cell++) {
+            if (grid[cell / size][cell % size] == Symbol.EMPTY.getValue() && skip-- == 0) {
+                return cell;
+            }
+        }
+    }
+}
\ No newline at end of file
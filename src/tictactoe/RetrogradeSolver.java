@@ -0,0 +1,313 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// The exact result of every position of a board, found by working back from the end of the
+// game instead of searching forward from the position being asked about.
+//
+// A position is ranked as the sum of cell * 3^(row * size + col), with 0 for empty, 1 for X
+// and 2 for O. A move only ever adds to the rank, so solving ranks from the highest down
+// finds every child solved before its parent. Each rank keeps 6 bits, ten to a long:
+//   0 not reachable in a game, 1 draw, 2 + 2d win in d plies, 3 + 2d loss in d plies
+// for the side to move. 3^16 ranks make 4x4 the largest board this covers, in 34 MB.
+//
+// File layout, big-endian: int magic, int version, int size, int winLength, then the longs.
+// Usage: RetrogradeSolver [--size 4] [--win 4] [--out solved.bin]
+public final class RetrogradeSolver {
+    static final int MAGIC = 0x54545452;  // "TTTR"
+    static final int VERSION = 1;
+    static final int MAX_CELLS = 16;
+    private static final int HEADER_BYTES = 16;
+    private static final int VALUE_BITS = 6;
+    private static final int VALUES_PER_LONG = Long.SIZE / VALUE_BITS;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final int UNREACHABLE = 0;
+    private static final int DRAW = 1;
+    private static final int FIRST_RESULT = 2;
+
+    private final int size;
+    private final int winLength;
+    private final long[] values;
+    private final int[] powers;
+
+    private RetrogradeSolver(int size, int winLength, long[] values) {
+        this.size = size;
+        this.winLength = winLength;
+        this.values = values;
+        this.powers = new int[size * size];
+        int power = 1;
+        for (int cell = 0; cell < powers.length; cell++) {
+            powers[cell] = power;
+            power *= 3;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = 4;
+        int winLength = -1;
+        Path out = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--out": out = Paths.get(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        long start = System.nanoTime();
+        RetrogradeSolver solver = solve(size, winLength > 0 ? Math.min(winLength, size) : size);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        SearchResult root = solver.probe(new Board(size, solver.winLength), Symbol.X.getValue());
+        String result = root.score() == MinimaxSearch.DRAW_SCORE
+            ? "draw"
+            : (root.score() > 0 ? "X" : "O") + " wins in "
+                + (MinimaxSearch.WIN_SCORE - Math.abs(root.score())) + " plies";
+        System.out.printf("%dx%d board, %d in a row: %s, best first move %d %d%n", size, size,
+            solver.winLength, result, root.cell() / size, root.cell() % size);
+        System.out.printf("%,d reachable positions of %,d ranks, solved in %.1f s%n",
+            solver.countReachable(), solver.rankCount(), seconds);
+        if (out != null) {
+            solver.write(out);
+            System.out.println("Wrote " + out);
+        }
+    }
+
+    public static RetrogradeSolver solve(int size, int winLength) {
+        int cells = size * size;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(
+                "Retrograde solving supports at most " + MAX_CELLS + " cells");
+        }
+        int ranks = 1;
+        for (int cell = 0; cell < cells; cell++) {
+            ranks *= 3;
+        }
+        RetrogradeSolver solver = new RetrogradeSolver(size, winLength,
+            new long[(ranks + VALUES_PER_LONG - 1) / VALUES_PER_LONG]);
+        solver.solveAll(new Board(size, winLength), ranks);
+        return solver;
+    }
+
+    // Walks the ranks downwards like a base-3 counter, keeping the bitboards of the current
+    // rank up to date instead of decoding every rank from scratch
+    private void solveAll(Board masks, int ranks) {
+        int cells = size * size;
+        int[] digits = new int[cells];
+        Arrays.fill(digits, 2);
+        long xBits = 0;
+        long oBits = masks.getFullMask();
+        int xCount = 0;
+        int oCount = cells;
+        for (int rank = ranks - 1; rank >= 0; rank--) {
+            set(rank, valueOf(rank, xBits, oBits, xCount, oCount, masks));
+            // Decrement the counter: 2 -> 1 turns O into X, 1 -> 0 empties the cell, and
+            // 0 -> 2 borrows from the next cell
+            for (int cell = 0; cell < cells; cell++) {
+                long bit = 1L << cell;
+                if (digits[cell] == 2) {
+                    digits[cell] = 1;
+                    oBits &= ~bit;
+                    oCount--;
+                    xBits |= bit;
+                    xCount++;
+                    break;
+                }
+                if (digits[cell] == 1) {
+                    digits[cell] = 0;
+                    xBits &= ~bit;
+                    xCount--;
+                    break;
+                }
+                digits[cell] = 2;
+                oBits |= bit;
+                oCount++;
+            }
+        }
+    }
+
+    private int valueOf(int rank, long xBits, long oBits, int xCount, int oCount, Board masks) {
+        // X moves first, so X has as many stones as O or one more
+        if (xCount != oCount && xCount != oCount + 1) {
+            return UNREACHABLE;
+        }
+        boolean xWon = masks.isWin(xBits);
+        boolean oWon = masks.isWin(oBits);
+        if (xWon && oWon || xWon && xCount == oCount || oWon && xCount != oCount) {
+            return UNREACHABLE;
+        }
+        if (xWon || oWon) {
+            // The side to move has just lost
+            return FIRST_RESULT + 1;
+        }
+        long free = ~(xBits | oBits) & masks.getFullMask();
+        if (free == 0) {
+            return DRAW;
+        }
+        int moverDigit = xCount == oCount ? 1 : 2;
+        int best = Integer.MIN_VALUE;
+        while (free != 0) {
+            int cell = Long.numberOfTrailingZeros(free);
+            free &= free - 1;
+            best = Math.max(best, fromChild(scoreOf(get(rank + moverDigit * powers[cell]))));
+        }
+        return encode(best);
+    }
+
+    // Returns the best move and its exact score for the side to move, or null if this solver
+    // is for another board or the position cannot occur with that side to move
+    public SearchResult probe(Board board, char mover) {
+        if (!supports(board)) {
+            return null;
+        }
+        char[][] grid = board.getGrid();
+        int rank = 0;
+        int xCount = 0;
+        for (int cell = size * size - 1; cell >= 0; cell--) {
+            char value = grid[cell / size][cell % size];
+            int digit = value == Symbol.X.getValue() ? 1 : (value == Symbol.O.getValue() ? 2 : 0);
+            rank = rank * 3 + digit;
+            xCount += digit == 1 ? 1 : 0;
+        }
+        int moverDigit = mover == Symbol.X.getValue() ? 1 : 2;
+        int value = get(rank);
+        if (value == UNREACHABLE || (xCount * 2 == board.getMoveCount()) != (moverDigit == 1)) {
+            return null;
+        }
+        int bestCell = -1;
+        int best = Integer.MIN_VALUE;
+        if (!board.hasWinner()) {
+            for (int cell = 0; cell < size * size; cell++) {
+                if (grid[cell / size][cell % size] == Symbol.EMPTY.getValue()) {
+                    int score = fromChild(scoreOf(get(rank + moverDigit * powers[cell])));
+                    if (score > best) {
+                        best = score;
+                        bestCell = cell;
+                    }
+                }
+            }
+        }
+        return new SearchResult(bestCell, scoreOf(value),
+            size * size - board.getMoveCount(), 0);
+    }
+
+    public boolean supports(Board board) {
+        return board.getSize() == size && board.getWinLength() == winLength;
+    }
+
+    // Results as MinimaxSearch scores them, where a win in d plies is WIN_SCORE - d
+    private static int scoreOf(int value) {
+        if (value == DRAW) {
+            return MinimaxSearch.DRAW_SCORE;
+        }
+        int plies = (value - FIRST_RESULT) >> 1;
+        return ((value - FIRST_RESULT) & 1) == 0
+            ? MinimaxSearch.WIN_SCORE - plies
+            : -(MinimaxSearch.WIN_SCORE - plies);
+    }
+
+    // A child's score seen from its parent: negated, and one ply further from the result
+    private static int fromChild(int score) {
+        return score == MinimaxSearch.DRAW_SCORE ? score : -(score - Integer.signum(score));
+    }
+
+    private static int encode(int score) {
+        if (score == MinimaxSearch.DRAW_SCORE) {
+            return DRAW;
+        }
+        int plies = MinimaxSearch.WIN_SCORE - Math.abs(score);
+        return FIRST_RESULT + 2 * plies + (score > 0 ? 0 : 1);
+    }
+
+    private int get(int rank) {
+        int shift = (rank % VALUES_PER_LONG) * VALUE_BITS;
+        return (int) ((values[rank / VALUES_PER_LONG] >>> shift) & VALUE_MASK);
+    }
+
+    private void set(int rank, int value) {
+        int shift = (rank % VALUES_PER_LONG) * VALUE_BITS;
+        int index = rank / VALUES_PER_LONG;
+        values[index] = (values[index] & ~(VALUE_MASK << shift)) | ((long) value << shift);
+    }
+
+    long countReachable() {
+        long count = 0;
+        for (int rank = 0; rank < rankCount(); rank++) {
+            if (get(rank) != UNREACHABLE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int rankCount() {
+        return powers[powers.length - 1] * 3;
+    }
+
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(winLength);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long value : values) {
+                if (buffer.remaining() < Long.BYTES) {
+                    drain(buffer, channel);
+                }
+                buffer.putLong(value);
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static RetrogradeSolver open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC
+                    || header.getInt() != VERSION) {
+                throw new IOException(path + " is not a solved-position file");
+            }
+            int size = header.getInt();
+            int winLength = header.getInt();
+            long[] values = new long[(int) ((channel.size() - HEADER_BYTES) / Long.BYTES)];
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.BIG_ENDIAN);
+            int index = 0;
+            while (index < values.length) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException(path + " is truncated");
+                }
+                buffer.flip();
+                while (buffer.remaining() >= Long.BYTES && index < values.length) {
+                    values[index++] = buffer.getLong();
+                }
+                buffer.compact();
+            }
+            if (size * size > MAX_CELLS) {
+                throw new IOException(path + " has an unsupported board size " + size);
+            }
+            RetrogradeSolver solver = new RetrogradeSolver(size, winLength, values);
+            if ((long) values.length * VALUES_PER_LONG < solver.rankCount()) {
+                throw new IOException(path + " is truncated");
+            }
+            return solver;
+        }
+    }
+}
\ No newline at end of file
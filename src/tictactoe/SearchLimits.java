@@ -0,0 +1,11 @@
+package tictactoe;
+
+record SearchLimits(long timeMillis, long maxNodes, int maxDepth) {
+    static final SearchLimits DEFAULT = new SearchLimits(1000, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+    SearchLimits {
+        if (timeMillis <= 0 || maxNodes <= 0 || maxDepth <= 0) {
+            throw new IllegalArgumentException("Search limits must be positive");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package tictactoe;
+
+// Called on the searching thread after every completed iteration
+interface SearchListener {
+    void iterationCompleted(SearchResult result);
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+package tictactoe;
+
+record SearchResult(int cell, int score, int depth, long nodes) {}
\ No newline at end of file
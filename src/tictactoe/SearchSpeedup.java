@@ -0,0 +1,44 @@
+package tictactoe;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Compares single-threaded and parallel search on the same position and fixed depth.
+// Usage: SearchSpeedup [size] [winLength] [depth] [threads]
+public class SearchSpeedup {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : size;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int threads = args.length > 3
+            ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+
+        Board board = new Board(size, winLength);
+        SearchLimits limits = new SearchLimits(TimeUnit.DAYS.toMillis(1), Long.MAX_VALUE, depth);
+        char mover = Symbol.X.getValue();
+
+        long start = System.nanoTime();
+        SearchResult serial = new MinimaxSearch(new Board(board), limits).search(mover);
+        long serialNanos = System.nanoTime() - start;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            start = System.nanoTime();
+            SearchResult parallel = new ParallelSearch(board, limits, pool).search(mover);
+            long parallelNanos = System.nanoTime() - start;
+
+            System.out.printf("Board %dx%d, %d in a row, depth %d%n", size, size, winLength, depth);
+            report("1 thread", serial, serialNanos);
+            report(threads + " threads", parallel, parallelNanos);
+            System.out.printf("Speedup: %.2fx%n", (double) serialNanos / parallelNanos);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void report(String label, SearchResult result, long nanos) {
+        System.out.printf("%-12s move %d, score %d, %d nodes, %.1f ms%n",
+            label, result.cell(), result.score(), result.nodes(), nanos / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package tictactoe;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Counters behind SearchStatsMXBean. Threads add to LongAdders without contending. Reading
+// the clock costs about as much as a table lookup move, so per-move latency is only
+// measured once the MBean has been registered and someone can see it.
+final class SearchStats implements SearchStatsMXBean {
+    static final SearchStats INSTANCE = new SearchStats();
+    static final String OBJECT_NAME = "tictactoe:type=SearchStats";
+
+    private final LongAdder[] moves = newAdders();
+    private final LongAdder[] moveNanos = newAdders();
+    private final LongAccumulator[] maxMoveNanos = new LongAccumulator[Difficulty.values().length];
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder cutoffs = new LongAdder();
+    private volatile boolean timingMoves;
+
+    private SearchStats() {
+        for (int i = 0; i < maxMoveNanos.length; i++) {
+            maxMoveNanos[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    // Registers the MBean with the platform server; later calls do nothing
+    static void registerMBean() {
+        INSTANCE.timingMoves = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    boolean isTimingMoves() {
+        return timingMoves;
+    }
+
+    void recordMove(Difficulty difficulty, long nanos) {
+        moves[difficulty.ordinal()].increment();
+        moveNanos[difficulty.ordinal()].add(nanos);
+        maxMoveNanos[difficulty.ordinal()].accumulate(nanos);
+    }
+
+    void recordSearch(long nanos, long searchNodes, long searchCutoffs) {
+        searches.increment();
+        searchNanos.add(nanos);
+        nodes.add(searchNodes);
+        cutoffs.add(searchCutoffs);
+    }
+
+    @Override
+    public long getMoves() {
+        long total = 0;
+        for (LongAdder count : moves) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    @Override
+    public double getSearchSeconds() {
+        return searchNanos.sum() / 1e9;
+    }
+
+    @Override
+    public double getNodesPerSecond() {
+        double seconds = getSearchSeconds();
+        return seconds == 0 ? 0 : getNodes() / seconds;
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        double seconds = ManagementFactory.getRuntimeMXBean().getUptime() / 1e3;
+        return seconds == 0 ? 0 : getMoves() / seconds;
+    }
+
+    @Override
+    public Map<String, Long> getMovesByDifficulty() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            result.put(difficulty.name(), moves[difficulty.ordinal()].sum());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMeanMoveMillisByDifficulty() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            long count = moves[difficulty.ordinal()].sum();
+            result.put(difficulty.name(),
+                count == 0 ? 0 : moveNanos[difficulty.ordinal()].sum() / 1e6 / count);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMaxMoveMillisByDifficulty() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            result.put(difficulty.name(), maxMoveNanos[difficulty.ordinal()].get() / 1e6);
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < moves.length; i++) {
+            moves[i].reset();
+            moveNanos[i].reset();
+            maxMoveNanos[i].reset();
+        }
+        searches.reset();
+        searchNanos.reset();
+        nodes.reset();
+        cutoffs.reset();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Difficulty.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
\ No newline at end of file
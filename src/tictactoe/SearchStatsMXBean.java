@@ -0,0 +1,30 @@
+package tictactoe;
+
+import java.util.Map;
+
+// Running totals of every AIPlayer in this JVM, published as tictactoe:type=SearchStats
+public interface SearchStatsMXBean {
+    long getMoves();
+
+    long getSearches();
+
+    long getNodes();
+
+    long getCutoffs();
+
+    double getSearchSeconds();
+
+    // Nodes per second of search time
+    double getNodesPerSecond();
+
+    // Moves per second since the JVM started
+    double getMovesPerSecond();
+
+    Map<String, Long> getMovesByDifficulty();
+
+    Map<String, Double> getMeanMoveMillisByDifficulty();
+
+    Map<String, Double> getMaxMoveMillisByDifficulty();
+
+    void reset();
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Plays AI-vs-AI games without a GUI, spread over all cores.
+// Usage: SelfPlay [--x ai:hard] [--o ai:easy] [--games 100000] [--size 3] [--win 3]
+//                 [--threads N] [--time-ms 1000] [--stats stats.bin] [--record games.bin]
+// With --stats the results are appended to that file and its running totals are printed.
+// With --record every game is appended to that file, see GameRecordWriter.
+public class SelfPlay {
+    private final PlayerSpec playerX;
+    private final PlayerSpec playerO;
+    private final int size;
+    private final int winLength;
+    private final int threads;
+    private GameRecordWriter recorder;
+
+    public SelfPlay(PlayerSpec playerX, PlayerSpec playerO, int size, int winLength, int threads) {
+        this.playerX = playerX;
+        this.playerO = playerO;
+        this.size = size;
+        this.winLength = winLength;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String x = "ai:hard";
+        String o = "ai:hard";
+        long games = 100_000;
+        int size = Board.DEFAULT_SIZE;
+        int winLength = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        Path statsFile = null;
+        Path recordFile = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--x": x = args[i + 1]; break;
+                case "--o": o = args[i + 1]; break;
+                case "--games": games = Long.parseLong(args[i + 1]); break;
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                case "--stats": statsFile = Paths.get(args[i + 1]); break;
+                case "--record": recordFile = Paths.get(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        SelfPlay selfPlay = new SelfPlay(PlayerSpec.parse(x, limits), PlayerSpec.parse(o, limits),
+            size, winLength > 0 ? winLength : size, threads);
+
+        long start = System.nanoTime();
+        Result result;
+        if (recordFile != null) {
+            try (GameRecordWriter writer = GameRecordWriter.open(recordFile)) {
+                selfPlay.setRecorder(writer);
+                result = selfPlay.play(games);
+            }
+        } else {
+            result = selfPlay.play(games);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("X = %s, O = %s, %dx%d board, %d in a row, %d threads%n",
+            selfPlay.playerX, selfPlay.playerO, size, size, selfPlay.winLength, threads);
+        System.out.println(result.stats().getStatsDisplay());
+        System.out.println(result.stats().getLatencyDisplay());
+        System.out.printf("%.2f s, %.0f games/s, %.0f moves/s%n",
+            seconds, result.stats().getGamesPlayed() / seconds, result.moves() / seconds);
+        if (statsFile != null) {
+            result.stats().appendTo(statsFile);
+            System.out.println("All runs in " + statsFile + ": "
+                + GameStats.load(statsFile).getStatsDisplay());
+        }
+    }
+
+    // Every finished game is also written here; null to record nothing
+    public void setRecorder(GameRecordWriter recorder) {
+        this.recorder = recorder;
+    }
+
+    public Result play(long games) throws Exception {
+        AtomicLong remaining = new AtomicLong(games);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            GameStats stats = new GameStats();
+            List<Future<Long>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> playUntilDone(remaining, stats)));
+            }
+
+            long moves = 0;
+            for (Future<Long> worker : workers) {
+                moves += worker.get();
+            }
+            return new Result(stats, moves);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Each worker owns its players; only the stats, built for concurrent updates, are shared
+    private long playUntilDone(AtomicLong remaining, GameStats stats) throws IOException {
+        Player x = playerX.create(Symbol.X);
+        Player o = playerO.create(Symbol.O);
+        Game game = new Game(x, o, size, winLength);
+        Difficulty oDifficulty = difficultyOf(o);
+        Difficulty difficulty = oDifficulty != null ? oDifficulty : difficultyOf(x);
+        long moves = 0;
+        while (remaining.getAndDecrement() > 0) {
+            game.reset();
+            while (game.getState() == GameState.IN_PROGRESS) {
+                long start = System.nanoTime();
+                int cell = game.getCurrentPlayer().getMoveCell(game.getBoard());
+                stats.recordMoveLatency(System.nanoTime() - start);
+                game.makeMove(cell);
+                moves++;
+            }
+            stats.updateStats(difficulty, game.getState(), game.getWinner(),
+                game.getBoard().getMoveCount());
+            if (recorder != null) {
+                recorder.write(game);
+            }
+        }
+        return moves;
+    }
+
+    // Games are filed under O's difficulty, or X's when only X is an AIPlayer
+    private static Difficulty difficultyOf(Player player) {
+        return player instanceof AIPlayer ? ((AIPlayer) player).getDifficulty() : null;
+    }
+
+    public record Result(GameStats stats, long moves) {}
+}
\ No newline at end of file
@@ -1,3 +1,5 @@
+package tictactoe;
+
 enum Symbol {
     X('X'), O('O'), EMPTY('-');
     
@@ -0,0 +1,172 @@
+package tictactoe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The eight rotations and reflections of a square board. Every line of a board maps onto
+// another line under each of them, so positions they map onto each other have the same
+// value and mirrored moves the same score.
+//
+// Transform 0 is the identity. A set of transforms is a bit mask with bit t for transform t.
+final class Symmetry {
+    static final int COUNT = 8;
+    private static final Map<Integer, Symmetry> BY_SIZE = new ConcurrentHashMap<>();
+
+    private final int size;
+    // cellMaps[t][cell] is where transform t moves cell; inverse maps it back
+    private final int[][] cellMaps = new int[COUNT][];
+    private final int[] inverse = new int[COUNT];
+    private final long[] powers;
+
+    private Symmetry(int size) {
+        this.size = size;
+        int cells = size * size;
+        for (int t = 0; t < COUNT; t++) {
+            cellMaps[t] = new int[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                cellMaps[t][cell] = map(t, cell / size, cell % size);
+            }
+        }
+        for (int t = 0; t < COUNT; t++) {
+            for (int u = COUNT - 1; u >= 0; u--) {
+                boolean undoes = true;
+                for (int cell = 0; cell < cells && undoes; cell++) {
+                    undoes = cellMaps[u][cellMaps[t][cell]] == cell;
+                }
+                if (undoes) {
+                    inverse[t] = u;
+                }
+            }
+        }
+        powers = new long[Math.min(cells, OpeningBook.MAX_CELLS)];
+        for (int cell = 0; cell < powers.length; cell++) {
+            powers[cell] = cell == 0 ? 1 : powers[cell - 1] * 3;
+        }
+    }
+
+    static Symmetry of(int size) {
+        return BY_SIZE.computeIfAbsent(size, Symmetry::new);
+    }
+
+    // Bits 0-1 rotate by quarter turns, bit 2 mirrors left to right first
+    private int map(int t, int row, int col) {
+        if ((t & 4) != 0) {
+            col = size - 1 - col;
+        }
+        for (int turn = 0; turn < (t & 3); turn++) {
+            int rotated = col;
+            col = size - 1 - row;
+            row = rotated;
+        }
+        return row * size + col;
+    }
+
+    int transform(int t, int cell) {
+        return cellMaps[t][cell];
+    }
+
+    int inverse(int t) {
+        return inverse[t];
+    }
+
+    // The transforms other than the identity that leave the position as it is
+    int invariants(Board board) {
+        int found = 0;
+        if (board.isCompact()) {
+            long x = board.getBits(Symbol.X.getValue());
+            long o = board.getBits(Symbol.O.getValue());
+            for (int t = 1; t < COUNT; t++) {
+                // A permutation keeps the stone count, so mapping into the set means onto it
+                if (mapsInto(t, x) && mapsInto(t, o)) {
+                    found |= 1 << t;
+                }
+            }
+            return found;
+        }
+        char[][] grid = board.getGrid();
+        for (int t = 1; t < COUNT; t++) {
+            int[] map = cellMaps[t];
+            boolean same = true;
+            for (int cell = 0; cell < map.length && same; cell++) {
+                int image = map[cell];
+                same = grid[cell / size][cell % size] == grid[image / size][image % size];
+            }
+            if (same) {
+                found |= 1 << t;
+            }
+        }
+        return found;
+    }
+
+    private boolean mapsInto(int t, long bits) {
+        int[] map = cellMaps[t];
+        for (long rest = bits; rest != 0; rest &= rest - 1) {
+            if ((bits & (1L << map[Long.numberOfTrailingZeros(rest)])) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Of the cells the given transforms swap among themselves, only the lowest is kept
+    boolean isCanonicalMove(int cell, int invariants) {
+        for (int rest = invariants; rest != 0; rest &= rest - 1) {
+            if (cellMaps[Integer.numberOfTrailingZeros(rest)][cell] < cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Removes the moves that mirror a lower move from the first count cells and returns how
+    // many remain, in their original order
+    int keepCanonicalMoves(int[] cells, int count, int invariants) {
+        if (invariants == 0) {
+            return count;
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (isCanonicalMove(cells[i], invariants)) {
+                cells[kept++] = cells[i];
+            }
+        }
+        return kept;
+    }
+
+    // The transform that turns the position into its canonical form: the one whose
+    // OpeningBook-style key, as seen by the mover, is the lowest
+    int canonicalTransform(Board board, char mover) {
+        int best = 0;
+        long bestKey = Long.MAX_VALUE;
+        for (int t = 0; t < COUNT; t++) {
+            long key = key(board, mover, t);
+            if (key < bestKey) {
+                bestKey = key;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    long canonicalKey(Board board, char mover) {
+        return key(board, mover, canonicalTransform(board, mover));
+    }
+
+    // OpeningBook.key of the position after transform t
+    long key(Board board, char mover, int t) {
+        if (size * size > OpeningBook.MAX_CELLS) {
+            throw new IllegalArgumentException(
+                "Position keys support at most " + OpeningBook.MAX_CELLS + " cells");
+        }
+        char[][] grid = board.getGrid();
+        int[] map = cellMaps[t];
+        long key = 0;
+        for (int cell = 0; cell < map.length; cell++) {
+            char value = grid[cell / size][cell % size];
+            if (value != Symbol.EMPTY.getValue()) {
+                key += (value == mover ? 1 : 2) * powers[map[cell]];
+            }
+        }
+        return key;
+    }
+}
\ No newline at end of file
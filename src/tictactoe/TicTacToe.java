@@ -0,0 +1,15 @@
+package tictactoe;
+
+public class TicTacToe {
+    public static void main(String[] args) {
+        // Optional arguments: board size and win length, e.g. "15 5"
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : Board.DEFAULT_SIZE;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : size;
+
+        SearchStats.registerMBean();
+
+        // Create and show the game GUI
+        GameGUI game = new GameGUI(size, winLength);
+        game.setVisible(true);
+    }
+}
\ No newline at end of file
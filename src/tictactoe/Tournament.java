@@ -0,0 +1,330 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Plays matches between any players PlayerSpec can describe, spread over all cores, and
+// reports them as CSV: wins, draws and losses per pairing, Elo ratings with 95% confidence
+// intervals, and move latency per player. Within a pairing the players swap colours every
+// game, and every game has its own seed, so runs with the same --seed make the same random
+// choices wherever the searches stop at the same point.
+// Usage: Tournament --players ai:easy,ai:medium,ai:hard,random [--format round-robin]
+//                   [--games 100] [--size 3] [--win 3] [--threads N] [--time-ms 1000]
+//                   [--seed 1] [--out dir]
+// A gauntlet plays the first player against each of the others; a round-robin plays every
+// pair. --games counts per pairing. With --out the tables are also written to pairings.csv,
+// ratings.csv and latency.csv in that directory.
+public class Tournament {
+    private static final double Z_95 = 1.959964;
+    private static final double ELO_PER_NATURAL_LOG = 400 / Math.log(10);
+    private static final int MAX_RATING_ITERATIONS = 100_000;
+    private static final double RATING_TOLERANCE = 1e-10;
+    private static final int FIRST_WINS = 0;
+    private static final int DRAWS = 1;
+    private static final int SECOND_WINS = 2;
+    private static final int OUTCOMES = 3;
+
+    private final List<PlayerSpec> players;
+    private final String[] names;
+    // Pairs of indexes into players
+    private final int[][] pairings;
+    private final int size;
+    private final int winLength;
+    private final int threads;
+    // Per pairing, wins of its first player, draws and wins of its second
+    private final LongAdder[] outcomes;
+    private final Histogram[] moveLatencyNanos;
+
+    public Tournament(List<PlayerSpec> players, boolean gauntlet, int size, int winLength,
+                      int threads) {
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two players");
+        }
+        this.players = players;
+        this.size = size;
+        this.winLength = winLength;
+        this.threads = threads;
+        names = new String[players.size()];
+        for (int i = 0; i < names.length; i++) {
+            // The same spec may be entered twice, e.g. to measure the noise between runs
+            int copies = 0;
+            for (int j = 0; j < i; j++) {
+                copies += players.get(j).toString().equals(players.get(i).toString()) ? 1 : 0;
+            }
+            names[i] = players.get(i) + (copies > 0 ? "#" + (copies + 1) : "");
+        }
+        List<int[]> pairs = new ArrayList<>();
+        for (int a = 0; a < names.length; a++) {
+            for (int b = a + 1; b < names.length && (a == 0 || !gauntlet); b++) {
+                pairs.add(new int[] {a, b});
+            }
+        }
+        pairings = pairs.toArray(new int[0][]);
+        outcomes = new LongAdder[pairings.length * OUTCOMES];
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+        moveLatencyNanos = new Histogram[names.length];
+        for (int i = 0; i < names.length; i++) {
+            moveLatencyNanos[i] = new Histogram();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String playerList = "ai:easy,ai:medium,ai:hard,random";
+        String format = "round-robin";
+        int games = 100;
+        int size = Board.DEFAULT_SIZE;
+        int winLength = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeMillis = SearchLimits.DEFAULT.timeMillis();
+        long seed = 1;
+        Path outDir = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--players": playerList = args[i + 1]; break;
+                case "--format": format = args[i + 1]; break;
+                case "--games": games = Integer.parseInt(args[i + 1]); break;
+                case "--size": size = Integer.parseInt(args[i + 1]); break;
+                case "--win": winLength = Integer.parseInt(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--time-ms": timeMillis = Long.parseLong(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--out": outDir = Paths.get(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (!format.equals("round-robin") && !format.equals("gauntlet")) {
+            throw new IllegalArgumentException(
+                "Unknown format '" + format + "', expected round-robin or gauntlet");
+        }
+        SearchLimits limits = new SearchLimits(timeMillis, Long.MAX_VALUE, Integer.MAX_VALUE);
+        List<PlayerSpec> players = new ArrayList<>();
+        for (String spec : playerList.split(",")) {
+            players.add(PlayerSpec.parse(spec, limits));
+        }
+        Tournament tournament = new Tournament(players, format.equals("gauntlet"), size,
+            winLength > 0 ? winLength : size, threads);
+
+        long start = System.nanoTime();
+        tournament.play(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        String pairingsCsv = tournament.getPairingsCsv();
+        String ratingsCsv = tournament.getRatingsCsv();
+        String latencyCsv = tournament.getLatencyCsv();
+        System.out.print(pairingsCsv);
+        System.out.println();
+        System.out.print(ratingsCsv);
+        System.out.println();
+        System.out.print(latencyCsv);
+        System.err.printf("%s, %d games per pairing, %dx%d board, %d in a row, %d threads,"
+            + " %.1f s%n", format, games, size, size, tournament.winLength, threads, seconds);
+        if (outDir != null) {
+            Files.createDirectories(outDir);
+            write(outDir.resolve("pairings.csv"), pairingsCsv);
+            write(outDir.resolve("ratings.csv"), ratingsCsv);
+            write(outDir.resolve("latency.csv"), latencyCsv);
+        }
+    }
+
+    private static void write(Path path, String csv) throws IOException {
+        Files.write(path, csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Plays the given number of games for every pairing. Games are numbered pairing by
+    // pairing and their seeds drawn in that order, so the seeds do not depend on which
+    // thread happens to play which game.
+    public void play(int gamesPerPairing, long seed) throws Exception {
+        int total = pairings.length * gamesPerPairing;
+        long[] seeds = new SplittableRandom(seed).longs(total).toArray();
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int game = next.getAndIncrement(); game < total;
+                         game = next.getAndIncrement()) {
+                        playGame(game / gamesPerPairing, game % gamesPerPairing, seeds[game]);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // The first player of the pairing takes X in even rounds and O in odd ones
+    private void playGame(int pairing, int round, long seed) {
+        int first = pairings[pairing][0];
+        int second = pairings[pairing][1];
+        int xIndex = round % 2 == 0 ? first : second;
+        int oIndex = round % 2 == 0 ? second : first;
+        SplittableRandom random = new SplittableRandom(seed);
+        Player x = players.get(xIndex).create(Symbol.X, random.nextLong());
+        Player o = players.get(oIndex).create(Symbol.O, random.nextLong());
+        Game game = new Game(x, o, size, winLength);
+        while (game.getState() == GameState.IN_PROGRESS) {
+            boolean xToMove = game.getCurrentPlayer() == x;
+            long start = System.nanoTime();
+            int cell = game.getCurrentPlayer().getMoveCell(game.getBoard());
+            moveLatencyNanos[xToMove ? xIndex : oIndex].record(System.nanoTime() - start);
+            game.makeMove(cell);
+        }
+        int outcome = DRAWS;
+        if (game.getState() == GameState.WINNER) {
+            int winner = game.getWinner() == Symbol.X.getValue() ? xIndex : oIndex;
+            outcome = winner == first ? FIRST_WINS : SECOND_WINS;
+        }
+        outcomes[pairing * OUTCOMES + outcome].increment();
+    }
+
+    // One row per pairing. The Elo difference is that of the first player over the second,
+    // from its score with one virtual draw added, as in getRatingsCsv.
+    public String getPairingsCsv() {
+        StringBuilder csv = new StringBuilder(
+            "player,opponent,games,wins,draws,losses,score,elo_diff,elo_low,elo_high\n");
+        for (int p = 0; p < pairings.length; p++) {
+            long wins = outcomes[p * OUTCOMES + FIRST_WINS].sum();
+            long draws = outcomes[p * OUTCOMES + DRAWS].sum();
+            long losses = outcomes[p * OUTCOMES + SECOND_WINS].sum();
+            long games = wins + draws + losses;
+            double n = games + 1;
+            double score = (wins + (draws + 1) / 2.0) / n;
+            // The Wilson interval of the score. With the virtual draw the score is strictly
+            // between 0 and 1, and so is the interval, which never has zero width.
+            double z2 = Z_95 * Z_95;
+            double centre = (score + z2 / (2 * n)) / (1 + z2 / n);
+            double margin = Z_95 * Math.sqrt(score * (1 - score) / n + z2 / (4 * n * n))
+                / (1 + z2 / n);
+            double low = Math.max(Math.nextUp(0.0), Math.min(score, centre - margin));
+            double high = Math.min(Math.nextDown(1.0), Math.max(score, centre + margin));
+            csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.4f,%.1f,%.1f,%.1f%n",
+                names[pairings[p][0]], names[pairings[p][1]], games, wins, draws, losses,
+                games == 0 ? 0.5 : (wins + draws / 2.0) / games, eloOf(score),
+                eloOf(low), eloOf(high)));
+        }
+        return csv.toString();
+    }
+
+    // One row per player, with ratings relative to the average player
+    public String getRatingsCsv() {
+        double[][] games = new double[names.length][names.length];
+        double[] scores = new double[names.length];
+        long[][] results = new long[names.length][OUTCOMES];
+        for (int p = 0; p < pairings.length; p++) {
+            int a = pairings[p][0];
+            int b = pairings[p][1];
+            long wins = outcomes[p * OUTCOMES + FIRST_WINS].sum();
+            long draws = outcomes[p * OUTCOMES + DRAWS].sum();
+            long losses = outcomes[p * OUTCOMES + SECOND_WINS].sum();
+            games[a][b] += wins + draws + losses + 1;
+            games[b][a] += wins + draws + losses + 1;
+            scores[a] += wins + (draws + 1) / 2.0;
+            scores[b] += losses + (draws + 1) / 2.0;
+            results[a][FIRST_WINS] += wins;
+            results[a][DRAWS] += draws;
+            results[a][SECOND_WINS] += losses;
+            results[b][FIRST_WINS] += losses;
+            results[b][DRAWS] += draws;
+            results[b][SECOND_WINS] += wins;
+        }
+        double[] strengths = getStrengths(games, scores);
+        double meanLog = 0;
+        for (double strength : strengths) {
+            meanLog += Math.log(strength) / strengths.length;
+        }
+
+        StringBuilder csv = new StringBuilder(
+            "player,games,wins,draws,losses,score,elo,elo_low,elo_high\n");
+        for (int i = 0; i < names.length; i++) {
+            // The curvature of the log-likelihood gives the standard error of the rating
+            double information = 0;
+            for (int j = 0; j < names.length; j++) {
+                double expected = strengths[i] / (strengths[i] + strengths[j]);
+                information += games[i][j] * expected * (1 - expected);
+            }
+            double elo = ELO_PER_NATURAL_LOG * (Math.log(strengths[i]) - meanLog);
+            double margin = Z_95 * ELO_PER_NATURAL_LOG / Math.sqrt(information);
+            long played = results[i][FIRST_WINS] + results[i][DRAWS] + results[i][SECOND_WINS];
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.4f,%.1f,%.1f,%.1f%n",
+                names[i], played, results[i][FIRST_WINS], results[i][DRAWS],
+                results[i][SECOND_WINS],
+                played == 0 ? 0.5 : (results[i][FIRST_WINS] + results[i][DRAWS] / 2.0) / played,
+                elo, elo - margin, elo + margin));
+        }
+        return csv.toString();
+    }
+
+    // Bradley-Terry strengths by minorization-maximization, a draw counting as half a win
+    // for each side. The caller adds one virtual draw to every pairing, as BayesElo does, so
+    // a player that won or lost every game still gets a finite strength.
+    private static double[] getStrengths(double[][] games, double[] scores) {
+        int n = scores.length;
+        double[] strengths = new double[n];
+        Arrays.fill(strengths, 1);
+        for (int iteration = 0; iteration < MAX_RATING_ITERATIONS; iteration++) {
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                double expected = 0;
+                for (int j = 0; j < n; j++) {
+                    if (games[i][j] > 0) {
+                        expected += games[i][j] / (strengths[i] + strengths[j]);
+                    }
+                }
+                next[i] = scores[i] / expected;
+            }
+            // Strengths are only defined up to a common factor; keep the first player at 1
+            double scale = next[0];
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                next[i] /= scale;
+                change = Math.max(change, Math.abs(next[i] - strengths[i]) / strengths[i]);
+            }
+            strengths = next;
+            if (change < RATING_TOLERANCE) {
+                break;
+            }
+        }
+        return strengths;
+    }
+
+    public String getLatencyCsv() {
+        StringBuilder csv =
+            new StringBuilder("player,moves,mean_us,p50_us,p90_us,p99_us,max_us\n");
+        for (int i = 0; i < names.length; i++) {
+            Histogram latency = moveLatencyNanos[i];
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                names[i], latency.getTotalCount(), latency.getMean() / 1e3,
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(90) / 1e3,
+                latency.getValueAtPercentile(99) / 1e3, latency.getValueAtPercentile(100) / 1e3));
+        }
+        return csv.toString();
+    }
+
+    // The Elo advantage at which a player is expected to score this much per game
+    private static double eloOf(double score) {
+        if (score <= 0 || score >= 1) {
+            return score <= 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return ELO_PER_NATURAL_LOG * Math.log(score / (1 - score));
+    }
+}
\ No newline at end of file